@@ -0,0 +1,50 @@
+package com.bank.apigateway.benchmarks;
+
+import java.util.UUID;
+
+import com.bank.apigateway.config.RateLimitProperties;
+import com.bank.apigateway.filter.ClientIdentityResolver;
+import com.bank.apigateway.filter.ClientIdentityResolver.ClientIdentity;
+import com.bank.apigateway.filter.RateLimitFilter;
+
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+import reactor.core.publisher.Mono;
+
+final class GatewayFixtures {
+
+    private static final String[] ROLES = { "DONOR", "HOSPITAL_ADMIN", "BLOODBANK_ADMIN", "SYSTEM_ADMIN" };
+
+    // Stands in for the routing filter: the request ends here
+    static final GatewayFilterChain NO_OP_CHAIN = exchange -> Mono.empty();
+
+    private GatewayFixtures() {
+    }
+
+    // Application defaults (100,000 tracked clients), with buckets roomy enough that benchmark traffic
+    // takes the allow path
+    static RateLimitFilter rateLimitFilter() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.getDefaults().setCapacity(1_000);
+        properties.getDefaults().setRefillPerSecond(1_000);
+        return new RateLimitFilter(properties, new ClientIdentityResolver());
+    }
+
+    // Distinct verified callers, as JwtAuthenticationFilter leaves them on the exchange
+    static ClientIdentity[] identities(int clients) {
+        ClientIdentity[] identities = new ClientIdentity[clients];
+        for (int i = 0; i < clients; i++) {
+            identities[i] = new ClientIdentity("user:" + new UUID(0x0123456789abcdefL, i), ROLES[i % ROLES.length]);
+        }
+        return identities;
+    }
+
+    static MockServerWebExchange exchange(ClientIdentity identity) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/inventory")
+                .queryParam("state", "KA"));
+        exchange.getAttributes().put(ClientIdentityResolver.IDENTITY_ATTRIBUTE, identity);
+        return exchange;
+    }
+}
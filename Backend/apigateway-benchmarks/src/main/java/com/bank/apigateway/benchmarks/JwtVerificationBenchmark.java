@@ -0,0 +1,87 @@
+package com.bank.apigateway.benchmarks;
+
+import java.security.KeyPair;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import com.bank.apigateway.auth.JwtVerifier;
+import com.bank.apigateway.auth.VerifiedToken;
+import com.bank.apigateway.config.JwtAuthProperties;
+
+import io.jsonwebtoken.Jwts;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Bearer token verification per request: `uncached` checks the signature and parses the claims every time,
+// `cached` is JwtVerifier.verify, which does that once per distinct token and then hashes and looks it up.
+// Requests cycle over `tokens` distinct live tokens, all of which fit the claims cache.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtVerificationBenchmark {
+
+    @Param({ "RS256", "ES256" })
+    private String algorithm;
+
+    @Param({ "10000" })
+    private int tokens;
+
+    private String[] signed;
+    private JwtVerifier verifier;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        KeyPair keys = algorithm.equals("RS256") ? Jwts.SIG.RS256.keyPair().build() : Jwts.SIG.ES256.keyPair().build();
+        JwtAuthProperties properties = new JwtAuthProperties();
+        properties.setPublicKey(Base64.getEncoder().encodeToString(keys.getPublic().getEncoded()));
+        properties.setIssuer("authservice");
+        verifier = new JwtVerifier(properties);
+
+        Instant now = Instant.now();
+        signed = new String[tokens];
+        for (int i = 0; i < tokens; i++) {
+            signed[i] = Jwts.builder()
+                    .id(UUID.randomUUID().toString())
+                    .subject(new UUID(0x0123456789abcdefL, i).toString())
+                    .issuer("authservice")
+                    .claim(JwtVerifier.ROLE_CLAIM, "DONOR")
+                    .issuedAt(Date.from(now))
+                    .expiration(Date.from(now.plusSeconds(3600)))
+                    .signWith(keys.getPrivate())
+                    .compact();
+        }
+    }
+
+    @Benchmark
+    public VerifiedToken uncached() {
+        return verifier.parse(nextToken());
+    }
+
+    @Benchmark
+    public VerifiedToken cached() {
+        return verifier.verify(nextToken());
+    }
+
+    private String nextToken() {
+        String token = signed[next];
+        next = next + 1 == signed.length ? 0 : next + 1;
+        return token;
+    }
+}
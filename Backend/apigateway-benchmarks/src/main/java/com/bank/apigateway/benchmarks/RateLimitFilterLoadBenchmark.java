@@ -0,0 +1,89 @@
+package com.bank.apigateway.benchmarks;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import com.bank.apigateway.filter.ClientIdentityResolver.ClientIdentity;
+import com.bank.apigateway.filter.RateLimitFilter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+// Open-loop load at a fixed rate: request i is due at start + i / rate and its latency is measured from
+// that due time, so any queueing behind slow requests is counted. Each iteration sends one second of
+// traffic from random clients; teardown prints latency percentiles with and without the filter.
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class RateLimitFilterLoadBenchmark {
+
+    @Param({ "false", "true" })
+    private boolean rateLimited;
+
+    @Param({ "100000", "1000000" })
+    private int clients;
+
+    @Param({ "50000" })
+    private int requestsPerSecond;
+
+    private ClientIdentity[] identities;
+    private RateLimitFilter filter;
+    private long[] latencies;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        identities = GatewayFixtures.identities(clients);
+        filter = GatewayFixtures.rateLimitFilter();
+        latencies = new long[requestsPerSecond];
+    }
+
+    @TearDown(Level.Iteration)
+    public void report() {
+        long[] sorted = latencies.clone();
+        Arrays.sort(sorted);
+        System.out.printf("%nrateLimited=%s, %,d clients, %,d req/s: p50 %.1f us, p99 %.1f us, p99.9 %.1f us, max %.1f us%n",
+                rateLimited, clients, requestsPerSecond, percentile(sorted, 0.50), percentile(sorted, 0.99),
+                percentile(sorted, 0.999), sorted[sorted.length - 1] / 1_000.0);
+    }
+
+    @Benchmark
+    public long[] oneSecondOfTraffic() {
+        long interval = TimeUnit.SECONDS.toNanos(1) / requestsPerSecond;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long start = System.nanoTime();
+        for (int i = 0; i < requestsPerSecond; i++) {
+            long due = start + i * interval;
+            while (System.nanoTime() < due) {
+                Thread.onSpinWait();
+            }
+            MockServerWebExchange exchange = GatewayFixtures.exchange(identities[random.nextInt(identities.length)]);
+            if (rateLimited) {
+                filter.filter(exchange, GatewayFixtures.NO_OP_CHAIN).block();
+            } else {
+                GatewayFixtures.NO_OP_CHAIN.filter(exchange).block();
+            }
+            latencies[i] = System.nanoTime() - due;
+        }
+        return latencies;
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        return sorted[(int) Math.min(sorted.length - 1, (long) (p * sorted.length))] / 1_000.0;
+    }
+}
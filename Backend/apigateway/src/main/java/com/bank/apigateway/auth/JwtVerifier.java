@@ -0,0 +1,133 @@
+package com.bank.apigateway.auth;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.PublicKey;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Base64;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import com.bank.apigateway.config.JwtAuthProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.JwtParserBuilder;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MalformedJwtException;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+// Verifies each distinct token once. Verified claims are cached under the SHA-256 of the token (the token
+// itself is not kept) until the token expires, so repeat requests cost a hash and a map lookup instead of
+// a signature check and JSON parse.
+@Component
+@ConditionalOnProperty(name = "gateway.auth.enabled", havingValue = "true")
+public class JwtVerifier {
+
+	public static final String ROLE_CLAIM = "role";
+
+	private final JwtParser parser;
+	private final long clockSkewMillis;
+	private final Cache<ByteBuffer, VerifiedToken> verified;
+
+	public JwtVerifier(JwtAuthProperties properties) {
+		JwtParserBuilder builder = Jwts.parser()
+				.verifyWith(loadPublicKey(properties))
+				.clockSkewSeconds(properties.getClockSkew().toSeconds());
+		if (StringUtils.hasText(properties.getIssuer())) {
+			builder.requireIssuer(properties.getIssuer());
+		}
+		this.parser = builder.build();
+		this.clockSkewMillis = properties.getClockSkew().toMillis();
+		this.verified = Caffeine.newBuilder()
+				.maximumSize(properties.getMaxCachedTokens())
+				.expireAfter(new Expiry<ByteBuffer, VerifiedToken>() {
+					@Override
+					public long expireAfterCreate(ByteBuffer key, VerifiedToken token, long currentTime) {
+						long remaining = token.expiresAt() + clockSkewMillis - System.currentTimeMillis();
+						return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remaining));
+					}
+
+					@Override
+					public long expireAfterUpdate(ByteBuffer key, VerifiedToken token, long currentTime,
+							long currentDuration) {
+						return expireAfterCreate(key, token, currentTime);
+					}
+
+					@Override
+					public long expireAfterRead(ByteBuffer key, VerifiedToken token, long currentTime,
+							long currentDuration) {
+						return currentDuration;
+					}
+				})
+				.build();
+	}
+
+	// Throws JwtException for a token that is malformed, wrongly signed, expired or missing sub, role or exp
+	public VerifiedToken verify(String token) {
+		return verified.get(digest(token), key -> parse(token));
+	}
+
+	// Full verification without the cache
+	public VerifiedToken parse(String token) {
+		Claims claims = parser.parseSignedClaims(token).getPayload();
+		String role = claims.get(ROLE_CLAIM, String.class);
+		if (claims.getSubject() == null || role == null || claims.getExpiration() == null) {
+			throw new MalformedJwtException("Token must carry sub, role and exp claims");
+		}
+		Date issuedAt = claims.getIssuedAt();
+		return new VerifiedToken(claims.getSubject(), role, claims.getId(),
+				issuedAt != null ? issuedAt.getTime() : 0, claims.getExpiration().getTime());
+	}
+
+	public long cachedTokens() {
+		verified.cleanUp();
+		return verified.estimatedSize();
+	}
+
+	private static ByteBuffer digest(String token) {
+		try {
+			return ByteBuffer.wrap(MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII)));
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static PublicKey loadPublicKey(JwtAuthProperties properties) {
+		String pem = properties.getPublicKey();
+		if (!StringUtils.hasText(pem) && properties.getPublicKeyLocation() != null) {
+			try {
+				pem = properties.getPublicKeyLocation().getContentAsString(StandardCharsets.US_ASCII);
+			} catch (IOException e) {
+				throw new IllegalStateException("Cannot read gateway.auth.public-key-location", e);
+			}
+		}
+		if (!StringUtils.hasText(pem)) {
+			throw new IllegalStateException("gateway.auth.public-key or gateway.auth.public-key-location is required");
+		}
+
+		byte[] encoded = Base64.getMimeDecoder().decode(pem
+				.replace("-----BEGIN PUBLIC KEY-----", "")
+				.replace("-----END PUBLIC KEY-----", "")
+				.strip());
+		for (String algorithm : new String[] { "RSA", "EC" }) {
+			try {
+				return KeyFactory.getInstance(algorithm).generatePublic(new X509EncodedKeySpec(encoded));
+			} catch (GeneralSecurityException e) {
+				// Try the next key type
+			}
+		}
+		throw new IllegalStateException("gateway.auth public key is neither an RSA nor an EC key");
+	}
+}
@@ -0,0 +1,59 @@
+package com.bank.apigateway.auth;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.bank.apigateway.config.JwtAuthProperties;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+// Revoked token ids until their expiry, and per-user cut-offs (every token issued at or before the
+// cut-off) until the longest token lifetime has passed. Entries are dropped once no token they match
+// could still be valid, so the list stays as small as the set of revocations in the last token lifetime.
+@Component
+@ConditionalOnProperty(name = "gateway.auth.enabled", havingValue = "true")
+public class TokenRevocationList {
+
+	private final Map<String, Long> revokedTokenIds = new ConcurrentHashMap<>();
+	private final Map<String, Long> revokedSubjects = new ConcurrentHashMap<>();
+	private final long maxTokenLifetimeMillis;
+
+	public TokenRevocationList(JwtAuthProperties properties) {
+		this.maxTokenLifetimeMillis = properties.getMaxTokenLifetime().toMillis();
+	}
+
+	public void revokeToken(String tokenId, long expiresAt) {
+		revokedTokenIds.merge(tokenId, expiresAt, Math::max);
+	}
+
+	// Logout everywhere, role change or account deletion
+	public void revokeSubject(String subject, long issuedAtOrBefore) {
+		revokedSubjects.merge(subject, issuedAtOrBefore, Math::max);
+	}
+
+	public boolean isRevoked(VerifiedToken token) {
+		if (token.tokenId() != null && revokedTokenIds.containsKey(token.tokenId())) {
+			return true;
+		}
+		Long cutoff = revokedSubjects.get(token.subject());
+		return cutoff != null && token.issuedAt() <= cutoff;
+	}
+
+	@Scheduled(initialDelayString = "${gateway.auth.revocation-purge-interval-ms:60000}",
+			fixedDelayString = "${gateway.auth.revocation-purge-interval-ms:60000}")
+	public void purge() {
+		long now = System.currentTimeMillis();
+		revokedTokenIds.values().removeIf(expiresAt -> expiresAt < now);
+		revokedSubjects.values().removeIf(cutoff -> cutoff + maxTokenLifetimeMillis < now);
+	}
+
+	public int revokedTokenCount() {
+		return revokedTokenIds.size();
+	}
+
+	public int revokedSubjectCount() {
+		return revokedSubjects.size();
+	}
+}
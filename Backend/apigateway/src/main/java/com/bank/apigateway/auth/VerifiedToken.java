@@ -0,0 +1,5 @@
+package com.bank.apigateway.auth;
+
+// Claims of a token whose signature, issuer and expiry have been checked; times are epoch milliseconds
+public record VerifiedToken(String subject, String role, String tokenId, long issuedAt, long expiresAt) {
+}
@@ -0,0 +1,108 @@
+package com.bank.apigateway.cache;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+
+import reactor.core.publisher.Mono;
+
+// A buffered upstream response, stored by the response cache or shared by coalesced requests. Fresh until freshUntil, then servable as stale until staleUntil (System.nanoTime);
+// the refreshing flag lets exactly one caller revalidate a stale entry.
+public final class CachedResponse {
+
+	// Per-exchange or per-connection headers that must not be replayed to another client
+	private static final List<String> UNSHARED_HEADERS = List.of(HttpHeaders.CONTENT_LENGTH,
+			HttpHeaders.TRANSFER_ENCODING, HttpHeaders.CONNECTION, HttpHeaders.DATE, HttpHeaders.AGE,
+			HttpHeaders.RETRY_AFTER, HttpHeaders.SET_COOKIE, "X-RateLimit-Remaining", "X-Cache");
+
+	private final int status;
+	private final HttpHeaders headers;
+	private final byte[] body;
+	private final long storedAt;
+	private final long freshUntil;
+	private final long staleUntil;
+	private final int weight;
+	private final AtomicBoolean refreshing = new AtomicBoolean();
+
+	public CachedResponse(int status, HttpHeaders headers, byte[] body, long storedAt, long ttlNanos,
+			long staleWhileRevalidateNanos) {
+		this.status = status;
+		this.headers = HttpHeaders.readOnlyHttpHeaders(headers);
+		this.body = body;
+		this.storedAt = storedAt;
+		this.freshUntil = storedAt + ttlNanos;
+		this.staleUntil = freshUntil + staleWhileRevalidateNanos;
+		int headerBytes = 0;
+		for (Map.Entry<String, List<String>> header : headers.headerSet()) {
+			headerBytes += header.getKey().length();
+			for (String value : header.getValue()) {
+				headerBytes += value.length();
+			}
+		}
+		this.weight = 96 + body.length + 2 * headerBytes;
+	}
+
+	// Snapshot of a response the gateway is about to write, minus headers that belong to that exchange
+	public static CachedResponse capture(ServerHttpResponse response, byte[] body, long nanoTime, long ttlNanos,
+			long staleWhileRevalidateNanos) {
+		HttpHeaders headers = new HttpHeaders();
+		headers.putAll(response.getHeaders());
+		UNSHARED_HEADERS.forEach(headers::remove);
+		HttpStatusCode status = response.getStatusCode();
+		return new CachedResponse(status != null ? status.value() : 200, headers, body, nanoTime, ttlNanos,
+				staleWhileRevalidateNanos);
+	}
+
+	public Mono<Void> writeTo(ServerHttpResponse response) {
+		response.setStatusCode(HttpStatusCode.valueOf(status));
+		response.getHeaders().putAll(headers);
+		response.getHeaders().setContentLength(body.length);
+		return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+	}
+
+	public boolean isFresh(long nanoTime) {
+		return nanoTime - freshUntil < 0;
+	}
+
+	public boolean isServable(long nanoTime) {
+		return nanoTime - staleUntil < 0;
+	}
+
+	public boolean tryStartRefresh() {
+		return refreshing.compareAndSet(false, true);
+	}
+
+	// A failed refresh lets the next stale hit try again; a successful one replaces this entry
+	public void refreshDone() {
+		refreshing.set(false);
+	}
+
+	public long ageSeconds(long nanoTime) {
+		return Math.max(0, (nanoTime - storedAt) / 1_000_000_000L);
+	}
+
+	// Getters
+	public int getStatus() {
+		return status;
+	}
+
+	public HttpHeaders getHeaders() {
+		return headers;
+	}
+
+	public byte[] getBody() {
+		return body;
+	}
+
+	long getStaleUntil() {
+		return staleUntil;
+	}
+
+	int getWeight() {
+		return weight;
+	}
+}
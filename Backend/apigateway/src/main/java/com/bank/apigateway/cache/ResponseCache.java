@@ -0,0 +1,108 @@
+package com.bank.apigateway.cache;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.bank.apigateway.config.ResponseCacheProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.springframework.stereotype.Component;
+
+// Byte-bounded store for gateway responses. Caffeine's W-TinyLFU policy evicts by recency and frequency,
+// so a burst of one-off queries cannot flush the hot inventory searches. Entries expire when their stale
+// window ends.
+@Component
+public class ResponseCache {
+
+	public static final String REQUESTS_METRIC = "gateway.response.cache.requests";
+
+	public enum Result {
+		HIT, STALE, MISS
+	}
+
+	private final Cache<ResponseCacheKey, CachedResponse> cache;
+	private final MeterRegistry meterRegistry;
+
+	public ResponseCache(ResponseCacheProperties properties, MeterRegistry meterRegistry) {
+		this.meterRegistry = meterRegistry;
+		this.cache = Caffeine.newBuilder()
+				.maximumWeight(properties.getMaxSize().toBytes())
+				.<ResponseCacheKey, CachedResponse>weigher((key, response) -> key.weight() + response.getWeight())
+				.expireAfter(new Expiry<ResponseCacheKey, CachedResponse>() {
+					@Override
+					public long expireAfterCreate(ResponseCacheKey key, CachedResponse response, long currentTime) {
+						return Math.max(0, response.getStaleUntil() - currentTime);
+					}
+
+					@Override
+					public long expireAfterUpdate(ResponseCacheKey key, CachedResponse response, long currentTime,
+							long currentDuration) {
+						return expireAfterCreate(key, response, currentTime);
+					}
+
+					@Override
+					public long expireAfterRead(ResponseCacheKey key, CachedResponse response, long currentTime,
+							long currentDuration) {
+						return currentDuration;
+					}
+				})
+				.build();
+	}
+
+	public CachedResponse get(ResponseCacheKey key) {
+		return cache.getIfPresent(key);
+	}
+
+	public void put(ResponseCacheKey key, CachedResponse response) {
+		cache.put(key, response);
+	}
+
+	public void record(String routeId, Result result) {
+		Counter.builder(REQUESTS_METRIC)
+				.tag("route", routeId)
+				.tag("result", result.name().toLowerCase())
+				.register(meterRegistry)
+				.increment();
+	}
+
+	// Drops entries for a route and/or path prefix; both null clears everything
+	public int invalidate(String routeId, String pathPrefix) {
+		int before = cache.asMap().size();
+		cache.asMap().keySet().removeIf(key -> (routeId == null || routeId.equals(key.routeId()))
+				&& (pathPrefix == null || key.path().startsWith(pathPrefix)));
+		return before - cache.asMap().size();
+	}
+
+	public long size() {
+		return cache.estimatedSize();
+	}
+
+	public long weightedSize() {
+		return cache.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0)).orElse(0L);
+	}
+
+	// Per route: hits, stale hits, misses and hit ratio (fresh and stale hits over all lookups)
+	public Map<String, Map<String, Object>> routeStats() {
+		Map<String, long[]> counts = new TreeMap<>();
+		for (Counter counter : meterRegistry.find(REQUESTS_METRIC).counters()) {
+			long[] routeCounts = counts.computeIfAbsent(counter.getId().getTag("route"), route -> new long[3]);
+			routeCounts[Result.valueOf(counter.getId().getTag("result").toUpperCase()).ordinal()] += (long) counter.count();
+		}
+
+		Map<String, Map<String, Object>> stats = new TreeMap<>();
+		counts.forEach((route, routeCounts) -> {
+			long lookups = routeCounts[0] + routeCounts[1] + routeCounts[2];
+			stats.put(route, Map.of(
+					"hits", routeCounts[Result.HIT.ordinal()],
+					"staleHits", routeCounts[Result.STALE.ordinal()],
+					"misses", routeCounts[Result.MISS.ordinal()],
+					"hitRatio", lookups == 0 ? 0.0 : (double) (lookups - routeCounts[Result.MISS.ordinal()]) / lookups));
+		});
+		return stats;
+	}
+}
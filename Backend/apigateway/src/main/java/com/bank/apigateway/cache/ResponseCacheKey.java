@@ -0,0 +1,46 @@
+package com.bank.apigateway.cache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+
+// Path plus query parameters sorted by name with empty values dropped, so ?city=Pune&state= and
+// ?state=&city=Pune share an entry. Role and Accept are part of the key because responses may differ by both.
+public record ResponseCacheKey(String routeId, String path, String query, String role, String accept) {
+
+	public static ResponseCacheKey of(String routeId, ServerHttpRequest request, String role) {
+		Map<String, List<String>> params = new TreeMap<>();
+		request.getQueryParams().forEach((name, values) -> {
+			List<String> nonEmpty = new ArrayList<>(values.size());
+			for (String value : values) {
+				if (value != null && !value.isEmpty()) {
+					nonEmpty.add(value);
+				}
+			}
+			if (!nonEmpty.isEmpty()) {
+				params.put(name, nonEmpty);
+			}
+		});
+
+		StringBuilder query = new StringBuilder();
+		params.forEach((name, values) -> {
+			for (String value : values) {
+				if (!query.isEmpty()) {
+					query.append('&');
+				}
+				query.append(name).append('=').append(value);
+			}
+		});
+		String accept = request.getHeaders().getFirst(HttpHeaders.ACCEPT);
+		return new ResponseCacheKey(routeId, request.getPath().value(), query.toString(), role,
+				accept != null ? accept : "");
+	}
+
+	int weight() {
+		return 64 + 2 * (routeId.length() + path.length() + query.length() + role.length() + accept.length());
+	}
+}
@@ -0,0 +1,99 @@
+package com.bank.apigateway.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.core.io.Resource;
+
+// gateway.auth.*: bearer token verification against the auth service's public key
+@ConfigurationProperties(prefix = "gateway.auth")
+public class JwtAuthProperties {
+
+	private boolean enabled = false;
+
+	// PEM-encoded RSA or EC public key, inline or as a resource (file:, classpath:)
+	private String publicKey;
+
+	private Resource publicKeyLocation;
+
+	// Expected iss claim; not checked when empty
+	private String issuer;
+
+	private Duration clockSkew = Duration.ofSeconds(30);
+
+	// Bound on cached verified tokens; each entry also expires with its token
+	private long maxCachedTokens = 100_000;
+
+	// Longest lifetime the auth service issues; per-user revocations are dropped after it
+	private Duration maxTokenLifetime = Duration.ofHours(24);
+
+	// Paths served without a token (login, registration); the path pattern syntax of the Path predicate
+	private List<String> publicPaths = new ArrayList<>(List.of("/api/auth/**"));
+
+	// Getters and Setters
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	public String getPublicKey() {
+		return publicKey;
+	}
+
+	public void setPublicKey(String publicKey) {
+		this.publicKey = publicKey;
+	}
+
+	public Resource getPublicKeyLocation() {
+		return publicKeyLocation;
+	}
+
+	public void setPublicKeyLocation(Resource publicKeyLocation) {
+		this.publicKeyLocation = publicKeyLocation;
+	}
+
+	public String getIssuer() {
+		return issuer;
+	}
+
+	public void setIssuer(String issuer) {
+		this.issuer = issuer;
+	}
+
+	public Duration getClockSkew() {
+		return clockSkew;
+	}
+
+	public void setClockSkew(Duration clockSkew) {
+		this.clockSkew = clockSkew;
+	}
+
+	public long getMaxCachedTokens() {
+		return maxCachedTokens;
+	}
+
+	public void setMaxCachedTokens(long maxCachedTokens) {
+		this.maxCachedTokens = maxCachedTokens;
+	}
+
+	public Duration getMaxTokenLifetime() {
+		return maxTokenLifetime;
+	}
+
+	public void setMaxTokenLifetime(Duration maxTokenLifetime) {
+		this.maxTokenLifetime = maxTokenLifetime;
+	}
+
+	public List<String> getPublicPaths() {
+		return publicPaths;
+	}
+
+	public void setPublicPaths(List<String> publicPaths) {
+		this.publicPaths = publicPaths;
+	}
+}
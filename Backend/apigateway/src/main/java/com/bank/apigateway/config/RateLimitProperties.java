@@ -0,0 +1,113 @@
+package com.bank.apigateway.config;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+// gateway.rate-limit.*: a route override wins over a role override, which wins over the default
+@ConfigurationProperties(prefix = "gateway.rate-limit")
+public class RateLimitProperties {
+
+	private boolean enabled = true;
+
+	// Upper bound on tracked client buckets; least recently used clients are evicted first
+	private long maxClients = 100_000;
+
+	// Buckets idle this long are dropped (never before they would have refilled completely)
+	private Duration idleTimeout = Duration.ofMinutes(5);
+
+	private Limit defaults = new Limit();
+
+	private Map<String, Limit> roles = new HashMap<>();
+
+	private Map<String, Limit> routes = new HashMap<>();
+
+	public Limit limitFor(String routeId, String role) {
+		Limit limit = routes.get(routeId);
+		if (limit == null) {
+			limit = roles.get(role);
+		}
+		return limit != null ? limit : defaults;
+	}
+
+	// Getters and Setters
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	public long getMaxClients() {
+		return maxClients;
+	}
+
+	public void setMaxClients(long maxClients) {
+		this.maxClients = maxClients;
+	}
+
+	public Duration getIdleTimeout() {
+		return idleTimeout;
+	}
+
+	public void setIdleTimeout(Duration idleTimeout) {
+		this.idleTimeout = idleTimeout;
+	}
+
+	public Limit getDefaults() {
+		return defaults;
+	}
+
+	public void setDefaults(Limit defaults) {
+		this.defaults = defaults;
+	}
+
+	public Map<String, Limit> getRoles() {
+		return roles;
+	}
+
+	public void setRoles(Map<String, Limit> roles) {
+		this.roles = roles;
+	}
+
+	public Map<String, Limit> getRoutes() {
+		return routes;
+	}
+
+	public void setRoutes(Map<String, Limit> routes) {
+		this.routes = routes;
+	}
+
+	// Bucket size (burst) and steady refill rate
+	public static class Limit {
+
+		private int capacity = 50;
+
+		private double refillPerSecond = 20;
+
+		// Time for an empty bucket to fill up again
+		public Duration refillTime() {
+			return Duration.ofNanos((long) (capacity * 1_000_000_000L / refillPerSecond));
+		}
+
+		// Getters and Setters
+		public int getCapacity() {
+			return capacity;
+		}
+
+		public void setCapacity(int capacity) {
+			this.capacity = capacity;
+		}
+
+		public double getRefillPerSecond() {
+			return refillPerSecond;
+		}
+
+		public void setRefillPerSecond(double refillPerSecond) {
+			this.refillPerSecond = refillPerSecond;
+		}
+	}
+}
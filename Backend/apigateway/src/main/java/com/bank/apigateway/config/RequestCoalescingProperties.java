@@ -0,0 +1,48 @@
+package com.bank.apigateway.config;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+// gateway.request-coalescing.*: only GET requests on the routes listed here are coalesced
+@ConfigurationProperties(prefix = "gateway.request-coalescing")
+public class RequestCoalescingProperties {
+
+	private boolean enabled = true;
+
+	private Map<String, Route> routes = new HashMap<>();
+
+	// Getters and Setters
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	public Map<String, Route> getRoutes() {
+		return routes;
+	}
+
+	public void setRoutes(Map<String, Route> routes) {
+		this.routes = routes;
+	}
+
+	public static class Route {
+
+		// How long a request waits on an identical in-flight call before making its own
+		private Duration maxWait = Duration.ofSeconds(2);
+
+		// Getters and Setters
+		public Duration getMaxWait() {
+			return maxWait;
+		}
+
+		public void setMaxWait(Duration maxWait) {
+			this.maxWait = maxWait;
+		}
+	}
+}
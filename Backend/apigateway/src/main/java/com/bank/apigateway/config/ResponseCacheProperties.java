@@ -0,0 +1,70 @@
+package com.bank.apigateway.config;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+// gateway.response-cache.*: only GET requests on the routes listed here are cached
+@ConfigurationProperties(prefix = "gateway.response-cache")
+public class ResponseCacheProperties {
+
+	private boolean enabled = true;
+
+	// Bound on cached bodies plus an estimate of keys and headers
+	private DataSize maxSize = DataSize.ofMegabytes(64);
+
+	private Map<String, Route> routes = new HashMap<>();
+
+	// Getters and Setters
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	public DataSize getMaxSize() {
+		return maxSize;
+	}
+
+	public void setMaxSize(DataSize maxSize) {
+		this.maxSize = maxSize;
+	}
+
+	public Map<String, Route> getRoutes() {
+		return routes;
+	}
+
+	public void setRoutes(Map<String, Route> routes) {
+		this.routes = routes;
+	}
+
+	// An entry is fresh for ttl, then served stale for up to staleWhileRevalidate while one refresh runs
+	public static class Route {
+
+		private Duration ttl = Duration.ofSeconds(30);
+
+		private Duration staleWhileRevalidate = Duration.ZERO;
+
+		// Getters and Setters
+		public Duration getTtl() {
+			return ttl;
+		}
+
+		public void setTtl(Duration ttl) {
+			this.ttl = ttl;
+		}
+
+		public Duration getStaleWhileRevalidate() {
+			return staleWhileRevalidate;
+		}
+
+		public void setStaleWhileRevalidate(Duration staleWhileRevalidate) {
+			this.staleWhileRevalidate = staleWhileRevalidate;
+		}
+	}
+}
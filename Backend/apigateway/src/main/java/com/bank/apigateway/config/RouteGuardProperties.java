@@ -0,0 +1,179 @@
+package com.bank.apigateway.config;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+// gateway.route-guard.*: every route gets the defaults unless it has its own entry under routes
+@ConfigurationProperties(prefix = "gateway.route-guard")
+public class RouteGuardProperties {
+
+	private boolean enabled = true;
+
+	private Guard defaults = new Guard();
+
+	private Map<String, Guard> routes = new HashMap<>();
+
+	public Guard guardFor(String routeId) {
+		return routes.getOrDefault(routeId, defaults);
+	}
+
+	// Getters and Setters
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	public Guard getDefaults() {
+		return defaults;
+	}
+
+	public void setDefaults(Guard defaults) {
+		this.defaults = defaults;
+	}
+
+	public Map<String, Guard> getRoutes() {
+		return routes;
+	}
+
+	public void setRoutes(Map<String, Guard> routes) {
+		this.routes = routes;
+	}
+
+	// Adaptive concurrency limit and circuit breaker settings for one route
+	public static class Guard {
+
+		private boolean enabled = true;
+
+		// Concurrent requests allowed before any latency has been observed, and the bounds of the limit
+		private int initialLimit = 20;
+
+		private int minLimit = 1;
+
+		private int maxLimit = 200;
+
+		// How far latency may rise above the route's baseline before the limit shrinks
+		private double rttTolerance = 1.2;
+
+		// Weight of each new latency sample in the limit (0-1)
+		private double smoothing = 0.2;
+
+		// Factor applied to the limit on every failed or timed-out call
+		private double backoffRatio = 0.9;
+
+		// Share of failed calls, in percent, among the last sliding-window-size calls that opens the circuit
+		private int failureRateThreshold = 50;
+
+		private int slidingWindowSize = 20;
+
+		// Calls that must be recorded before the failure rate is trusted
+		private int minimumCalls = 10;
+
+		// How long an open circuit rejects calls before letting trial calls through
+		private Duration openDuration = Duration.ofSeconds(10);
+
+		private int halfOpenCalls = 3;
+
+		// Getters and Setters
+		public boolean isEnabled() {
+			return enabled;
+		}
+
+		public void setEnabled(boolean enabled) {
+			this.enabled = enabled;
+		}
+
+		public int getInitialLimit() {
+			return initialLimit;
+		}
+
+		public void setInitialLimit(int initialLimit) {
+			this.initialLimit = initialLimit;
+		}
+
+		public int getMinLimit() {
+			return minLimit;
+		}
+
+		public void setMinLimit(int minLimit) {
+			this.minLimit = minLimit;
+		}
+
+		public int getMaxLimit() {
+			return maxLimit;
+		}
+
+		public void setMaxLimit(int maxLimit) {
+			this.maxLimit = maxLimit;
+		}
+
+		public double getRttTolerance() {
+			return rttTolerance;
+		}
+
+		public void setRttTolerance(double rttTolerance) {
+			this.rttTolerance = rttTolerance;
+		}
+
+		public double getSmoothing() {
+			return smoothing;
+		}
+
+		public void setSmoothing(double smoothing) {
+			this.smoothing = smoothing;
+		}
+
+		public double getBackoffRatio() {
+			return backoffRatio;
+		}
+
+		public void setBackoffRatio(double backoffRatio) {
+			this.backoffRatio = backoffRatio;
+		}
+
+		public int getFailureRateThreshold() {
+			return failureRateThreshold;
+		}
+
+		public void setFailureRateThreshold(int failureRateThreshold) {
+			this.failureRateThreshold = failureRateThreshold;
+		}
+
+		public int getSlidingWindowSize() {
+			return slidingWindowSize;
+		}
+
+		public void setSlidingWindowSize(int slidingWindowSize) {
+			this.slidingWindowSize = slidingWindowSize;
+		}
+
+		public int getMinimumCalls() {
+			return minimumCalls;
+		}
+
+		public void setMinimumCalls(int minimumCalls) {
+			this.minimumCalls = minimumCalls;
+		}
+
+		public Duration getOpenDuration() {
+			return openDuration;
+		}
+
+		public void setOpenDuration(Duration openDuration) {
+			this.openDuration = openDuration;
+		}
+
+		public int getHalfOpenCalls() {
+			return halfOpenCalls;
+		}
+
+		public void setHalfOpenCalls(int halfOpenCalls) {
+			this.halfOpenCalls = halfOpenCalls;
+		}
+	}
+}
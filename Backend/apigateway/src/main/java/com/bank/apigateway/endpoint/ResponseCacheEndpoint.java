@@ -0,0 +1,37 @@
+package com.bank.apigateway.endpoint;
+
+import java.util.Map;
+
+import com.bank.apigateway.cache.ResponseCache;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+// /actuator/responsecache: GET for per-route hit ratios, DELETE ?route=&path= for services to invalidate
+// entries after a write (for example DELETE ?route=bloodbank-inventory&path=/api/inventory)
+@Component
+@Endpoint(id = "responsecache")
+public class ResponseCacheEndpoint {
+
+	private final ResponseCache cache;
+
+	public ResponseCacheEndpoint(ResponseCache cache) {
+		this.cache = cache;
+	}
+
+	@ReadOperation
+	public Map<String, Object> stats() {
+		return Map.of(
+				"entries", cache.size(),
+				"weightBytes", cache.weightedSize(),
+				"routes", cache.routeStats());
+	}
+
+	@DeleteOperation
+	public Map<String, Object> invalidate(@Nullable String route, @Nullable String path) {
+		return Map.of("invalidated", cache.invalidate(route, path));
+	}
+}
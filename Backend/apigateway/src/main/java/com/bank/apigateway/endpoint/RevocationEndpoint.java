@@ -0,0 +1,53 @@
+package com.bank.apigateway.endpoint;
+
+import java.util.Map;
+
+import com.bank.apigateway.auth.JwtVerifier;
+import com.bank.apigateway.auth.TokenRevocationList;
+
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+// /actuator/revocations: POST {"tokenId": "...", "expiresAt": <epoch ms>} revokes one token (the jti claim),
+// POST {"subject": "..."} revokes every token issued to that user so far. Each gateway instance keeps its own
+// list, so the auth service posts to every instance registered in Eureka.
+@Component
+@Endpoint(id = "revocations")
+@ConditionalOnProperty(name = "gateway.auth.enabled", havingValue = "true")
+public class RevocationEndpoint {
+
+	private final TokenRevocationList revocationList;
+	private final JwtVerifier verifier;
+
+	public RevocationEndpoint(TokenRevocationList revocationList, JwtVerifier verifier) {
+		this.revocationList = revocationList;
+		this.verifier = verifier;
+	}
+
+	@ReadOperation
+	public Map<String, Object> stats() {
+		return Map.of(
+				"revokedTokens", revocationList.revokedTokenCount(),
+				"revokedSubjects", revocationList.revokedSubjectCount(),
+				"cachedTokens", verifier.cachedTokens());
+	}
+
+	@WriteOperation
+	public Map<String, Object> revoke(@Nullable String tokenId, @Nullable Long expiresAt, @Nullable String subject) {
+		if (tokenId != null && expiresAt != null) {
+			revocationList.revokeToken(tokenId, expiresAt);
+			return Map.of("revokedToken", tokenId);
+		}
+		if (subject != null) {
+			revocationList.revokeSubject(subject, System.currentTimeMillis());
+			return Map.of("revokedSubject", subject);
+		}
+		throw new InvalidEndpointRequestException("Either tokenId with expiresAt, or subject is required",
+				"Missing tokenId/expiresAt or subject");
+	}
+}
@@ -0,0 +1,50 @@
+package com.bank.apigateway.endpoint;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+import com.bank.apigateway.filter.RouteGuardFilter;
+import com.bank.apigateway.filter.RouteGuardFilter.RouteGuard;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+// /actuator/routeguards: current concurrency limit, in-flight calls and circuit state per route;
+// /actuator/routeguards/{route} for one route
+@Component
+@Endpoint(id = "routeguards")
+@ConditionalOnProperty(name = "gateway.route-guard.enabled", havingValue = "true", matchIfMissing = true)
+public class RouteGuardEndpoint {
+
+	private final RouteGuardFilter filter;
+
+	public RouteGuardEndpoint(RouteGuardFilter filter) {
+		this.filter = filter;
+	}
+
+	@ReadOperation
+	public Map<String, Object> routes() {
+		Map<String, Object> routes = new TreeMap<>();
+		filter.guards().forEach((routeId, guard) -> routes.put(routeId, describe(guard)));
+		return routes;
+	}
+
+	@ReadOperation
+	public Map<String, Object> route(@Selector String route) {
+		RouteGuard guard = filter.guards().get(route);
+		return guard != null ? describe(guard) : null;
+	}
+
+	private static Map<String, Object> describe(RouteGuard guard) {
+		return Map.of(
+				"limit", guard.limit().limit(),
+				"inFlight", guard.limit().inFlight(),
+				"baselineLatencyMs", TimeUnit.NANOSECONDS.toMillis(guard.limit().baselineRttNanos()),
+				"circuit", guard.breaker().state(),
+				"failureRate", guard.breaker().failureRate());
+	}
+}
@@ -0,0 +1,115 @@
+package com.bank.apigateway.filter;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.bank.apigateway.config.RouteGuardProperties;
+
+// Concurrency limit for one route, adjusted from the latency of its calls (the gradient approach of
+// Netflix's concurrency-limits). Each call's latency feeds a short and a long moving average; the long one
+// is the route's baseline. The gradient is rtt-tolerance times the baseline over the short average, capped
+// at 1: while recent calls are no slower than the baseline allows, the limit grows by a small queue
+// allowance; once requests queue downstream their latency rises and the limit shrinks, by at most half per
+// call. A failed call multiplies the limit by backoff-ratio. Taking and returning a permit is one
+// compare-and-set; only the limit update takes the lock.
+public final class AdaptiveConcurrencyLimit {
+
+	// Calls averaged into the recent latency and into the baseline
+	private static final int SHORT_WINDOW = 10;
+	private static final int LONG_WINDOW = 600;
+	private static final int SATURATED_LONG_WINDOW = 20 * LONG_WINDOW;
+
+	// Calls a limit may admit beyond what the baseline latency allows, so it can probe for more capacity
+	private static final double QUEUE_ALLOWANCE = 2;
+
+	private final int minLimit;
+	private final int maxLimit;
+	private final double rttTolerance;
+	private final double smoothing;
+	private final double backoffRatio;
+
+	private final AtomicInteger inFlight = new AtomicInteger();
+	private volatile double limit;
+
+	// Guarded by this
+	private double shortRtt;
+	private double longRtt;
+	private long samples;
+
+	public AdaptiveConcurrencyLimit(RouteGuardProperties.Guard guard) {
+		this.minLimit = guard.getMinLimit();
+		this.maxLimit = guard.getMaxLimit();
+		this.rttTolerance = guard.getRttTolerance();
+		this.smoothing = guard.getSmoothing();
+		this.backoffRatio = guard.getBackoffRatio();
+		this.limit = Math.max(minLimit, Math.min(maxLimit, guard.getInitialLimit()));
+	}
+
+	public boolean tryAcquire() {
+		while (true) {
+			int current = inFlight.get();
+			if (current >= (int) limit) {
+				return false;
+			}
+			if (inFlight.compareAndSet(current, current + 1)) {
+				return true;
+			}
+		}
+	}
+
+	// Returns a permit after a completed call
+	public void onSuccess(long rttNanos) {
+		int inFlightBefore = inFlight.getAndDecrement();
+		sample(rttNanos, inFlightBefore);
+	}
+
+	public void onFailure() {
+		inFlight.decrementAndGet();
+		synchronized (this) {
+			limit = Math.max(minLimit, limit * backoffRatio);
+		}
+	}
+
+	// Returns a permit without a latency sample (the client went away)
+	public void onCancel() {
+		inFlight.decrementAndGet();
+	}
+
+	public int limit() {
+		return (int) limit;
+	}
+
+	public int inFlight() {
+		return inFlight.get();
+	}
+
+	public synchronized long baselineRttNanos() {
+		return (long) longRtt;
+	}
+
+	private synchronized void sample(long rttNanos, int inFlightBefore) {
+		if (samples++ == 0) {
+			shortRtt = rttNanos;
+			longRtt = rttNanos;
+		} else {
+			shortRtt += (rttNanos - shortRtt) * 2 / (SHORT_WINDOW + 1);
+			// Latency that rises while the route is at its limit is mostly queueing, so it moves the baseline
+			// far more slowly; otherwise sustained overload would become the new normal
+			int window = rttNanos > longRtt && inFlightBefore >= (int) limit ? SATURATED_LONG_WINDOW : LONG_WINDOW;
+			longRtt += (rttNanos - longRtt) * 2 / (window + 1);
+		}
+		// A downstream that became faster for good is not held to its old, slower baseline
+		if (longRtt > 2 * shortRtt) {
+			longRtt *= 0.95;
+		}
+		// Too little traffic to tell whether a higher limit would queue
+		if (inFlightBefore < limit / 2) {
+			return;
+		}
+
+		double gradient = Math.max(0.5, Math.min(1.0, rttTolerance * longRtt / shortRtt));
+		// Only a limit that is in use grows, and only once the recent average covers a full short window
+		double allowance = inFlightBefore >= (int) limit && samples >= SHORT_WINDOW ? QUEUE_ALLOWANCE : 0;
+		double target = limit * gradient + allowance;
+		limit = Math.max(minLimit, Math.min(maxLimit, limit * (1 - smoothing) + target * smoothing));
+	}
+}
@@ -0,0 +1,126 @@
+package com.bank.apigateway.filter;
+
+import com.bank.apigateway.config.RouteGuardProperties;
+
+// Count-based circuit breaker for one route. It opens when failure-rate-threshold percent of the last
+// sliding-window-size calls failed (once minimum-calls are recorded) and rejects every call for
+// open-duration. Then half-open-calls trial calls go through: all of them succeeding closes it, any
+// failing opens it again. A closed breaker admits a call with one volatile read.
+public final class CircuitBreaker {
+
+	public enum State {
+		CLOSED, OPEN, HALF_OPEN
+	}
+
+	private final int failureRateThreshold;
+	private final int minimumCalls;
+	private final long openNanos;
+	private final int halfOpenCalls;
+
+	private volatile State state = State.CLOSED;
+
+	// Outcomes of the last calls while closed (true = failed); guarded by this, like the fields below
+	private final boolean[] window;
+	private int position;
+	private int recorded;
+	private int failures;
+
+	private long openUntil;
+	private int trialsStarted;
+	private int trialsSucceeded;
+
+	public CircuitBreaker(RouteGuardProperties.Guard guard) {
+		this.failureRateThreshold = guard.getFailureRateThreshold();
+		this.minimumCalls = Math.min(guard.getMinimumCalls(), guard.getSlidingWindowSize());
+		this.openNanos = guard.getOpenDuration().toNanos();
+		this.halfOpenCalls = guard.getHalfOpenCalls();
+		this.window = new boolean[guard.getSlidingWindowSize()];
+	}
+
+	public boolean tryAcquire(long nanoTime) {
+		if (state == State.CLOSED) {
+			return true;
+		}
+		synchronized (this) {
+			if (state == State.OPEN && nanoTime - openUntil >= 0) {
+				state = State.HALF_OPEN;
+				trialsStarted = 0;
+				trialsSucceeded = 0;
+			}
+			if (state == State.HALF_OPEN && trialsStarted < halfOpenCalls) {
+				trialsStarted++;
+				return true;
+			}
+			return state == State.CLOSED;
+		}
+	}
+
+	public synchronized void onSuccess() {
+		if (state == State.HALF_OPEN) {
+			if (++trialsSucceeded >= halfOpenCalls) {
+				close();
+			}
+		} else if (state == State.CLOSED) {
+			record(false);
+		}
+	}
+
+	public synchronized void onFailure(long nanoTime) {
+		if (state == State.HALF_OPEN) {
+			open(nanoTime);
+		} else if (state == State.CLOSED) {
+			record(true);
+			if (recorded >= minimumCalls && failures * 100 >= failureRateThreshold * recorded) {
+				open(nanoTime);
+			}
+		}
+	}
+
+	// Gives back an admitted call that never reached a result, so a half-open breaker can try another
+	public synchronized void onCancel() {
+		if (state == State.HALF_OPEN && trialsStarted > trialsSucceeded) {
+			trialsStarted--;
+		}
+	}
+
+	public State state() {
+		return state;
+	}
+
+	// Nanoseconds until an open breaker lets trial calls through
+	public synchronized long retryAfterNanos(long nanoTime) {
+		return state == State.OPEN ? Math.max(0, openUntil - nanoTime) : 0;
+	}
+
+	// Failure rate in percent over the calls recorded while closed
+	public synchronized int failureRate() {
+		return recorded == 0 ? 0 : failures * 100 / recorded;
+	}
+
+	private void record(boolean failed) {
+		if (recorded == window.length) {
+			if (window[position]) {
+				failures--;
+			}
+		} else {
+			recorded++;
+		}
+		window[position] = failed;
+		if (failed) {
+			failures++;
+		}
+		position = (position + 1) % window.length;
+	}
+
+	private void open(long nanoTime) {
+		state = State.OPEN;
+		openUntil = nanoTime + openNanos;
+	}
+
+	private void close() {
+		state = State.CLOSED;
+		position = 0;
+		recorded = 0;
+		failures = 0;
+	}
+}
@@ -0,0 +1,37 @@
+package com.bank.apigateway.filter;
+
+import java.net.InetSocketAddress;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+// Who a request is from. With gateway.auth enabled, JwtAuthenticationFilter stores the verified subject and
+// role before any other filter asks. Anything else is keyed on the client address with the ANONYMOUS role:
+// an unverified token's claims are never trusted, since a caller could pick a new subject or a privileged
+// role on every request and with it a fresh rate-limit bucket or another role's cached responses.
+@Component
+public class ClientIdentityResolver {
+
+	public static final String ANONYMOUS_ROLE = "ANONYMOUS";
+
+	// Resolved once per exchange and shared by every filter that keys on the caller
+	public static final String IDENTITY_ATTRIBUTE = ClientIdentityResolver.class.getName() + ".identity";
+
+	public ClientIdentity resolve(ServerWebExchange exchange) {
+		ClientIdentity identity = exchange.getAttribute(IDENTITY_ATTRIBUTE);
+		if (identity == null) {
+			identity = anonymous(exchange);
+			exchange.getAttributes().put(IDENTITY_ATTRIBUTE, identity);
+		}
+		return identity;
+	}
+
+	public ClientIdentity anonymous(ServerWebExchange exchange) {
+		InetSocketAddress remoteAddress = exchange.getRequest().getRemoteAddress();
+		String address = remoteAddress != null ? remoteAddress.getAddress().getHostAddress() : "unknown";
+		return new ClientIdentity("ip:" + address, ANONYMOUS_ROLE);
+	}
+
+	public record ClientIdentity(String id, String role) {
+	}
+}
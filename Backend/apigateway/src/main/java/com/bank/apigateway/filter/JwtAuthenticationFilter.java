@@ -0,0 +1,111 @@
+package com.bank.apigateway.filter;
+
+import java.util.List;
+
+import com.bank.apigateway.auth.JwtVerifier;
+import com.bank.apigateway.auth.TokenRevocationList;
+import com.bank.apigateway.auth.VerifiedToken;
+import com.bank.apigateway.config.JwtAuthProperties;
+import com.bank.apigateway.filter.ClientIdentityResolver.ClientIdentity;
+
+import io.jsonwebtoken.JwtException;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import reactor.core.publisher.Mono;
+
+// Requires a valid, unrevoked bearer token outside the public paths and passes the caller to downstream
+// services as X-User-Id and X-User-Role. Clients cannot set those headers themselves: they are removed
+// from every incoming request.
+@Component
+@ConditionalOnProperty(name = "gateway.auth.enabled", havingValue = "true")
+public class JwtAuthenticationFilter implements GlobalFilter, Ordered {
+
+	// First, so rate limiting, caching and coalescing key on the verified caller
+	public static final int ORDER = RateLimitFilter.ORDER - 50;
+
+	public static final String USER_ID_HEADER = "X-User-Id";
+	public static final String USER_ROLE_HEADER = "X-User-Role";
+
+	private static final String BEARER_PREFIX = "Bearer ";
+
+	private final JwtVerifier verifier;
+	private final TokenRevocationList revocationList;
+	private final ClientIdentityResolver identityResolver;
+	private final List<PathPattern> publicPaths;
+
+	public JwtAuthenticationFilter(JwtAuthProperties properties, JwtVerifier verifier,
+			TokenRevocationList revocationList, ClientIdentityResolver identityResolver) {
+		this.verifier = verifier;
+		this.revocationList = revocationList;
+		this.identityResolver = identityResolver;
+		this.publicPaths = properties.getPublicPaths().stream()
+				.map(PathPatternParser.defaultInstance::parse)
+				.toList();
+	}
+
+	@Override
+	public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+		ServerHttpRequest.Builder request = exchange.getRequest().mutate()
+				.headers(headers -> {
+					headers.remove(USER_ID_HEADER);
+					headers.remove(USER_ROLE_HEADER);
+				});
+		if (isPublic(exchange.getRequest())) {
+			exchange.getAttributes().put(ClientIdentityResolver.IDENTITY_ATTRIBUTE, identityResolver.anonymous(exchange));
+			return chain.filter(exchange.mutate().request(request.build()).build());
+		}
+
+		String authorization = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+		if (authorization == null || !authorization.startsWith(BEARER_PREFIX)) {
+			return unauthorized(exchange, "Bearer");
+		}
+		VerifiedToken token;
+		try {
+			token = verifier.verify(authorization.substring(BEARER_PREFIX.length()));
+		} catch (JwtException | IllegalArgumentException e) {
+			return unauthorized(exchange, "Bearer error=\"invalid_token\"");
+		}
+		if (revocationList.isRevoked(token)) {
+			return unauthorized(exchange, "Bearer error=\"invalid_token\", error_description=\"Token revoked\"");
+		}
+
+		exchange.getAttributes().put(ClientIdentityResolver.IDENTITY_ATTRIBUTE,
+				new ClientIdentity("user:" + token.subject(), token.role()));
+		request.header(USER_ID_HEADER, token.subject())
+				.header(USER_ROLE_HEADER, token.role());
+		return chain.filter(exchange.mutate().request(request.build()).build());
+	}
+
+	@Override
+	public int getOrder() {
+		return ORDER;
+	}
+
+	private boolean isPublic(ServerHttpRequest request) {
+		for (PathPattern pattern : publicPaths) {
+			if (pattern.matches(request.getPath().pathWithinApplication())) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static Mono<Void> unauthorized(ServerWebExchange exchange, String challenge) {
+		ServerHttpResponse response = exchange.getResponse();
+		response.setStatusCode(HttpStatus.UNAUTHORIZED);
+		response.getHeaders().set(HttpHeaders.WWW_AUTHENTICATE, challenge);
+		return response.setComplete();
+	}
+}
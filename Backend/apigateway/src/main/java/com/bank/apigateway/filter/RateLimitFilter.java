@@ -0,0 +1,94 @@
+package com.bank.apigateway.filter;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import com.bank.apigateway.config.RateLimitProperties;
+import com.bank.apigateway.filter.ClientIdentityResolver.ClientIdentity;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+import reactor.core.publisher.Mono;
+
+// In-process token buckets per (client, role, route). Each gateway replica enforces its own share;
+// nothing is shared through an external store, so a decision costs a map lookup and one CAS.
+@Component
+@ConditionalOnProperty(name = "gateway.rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitFilter implements GlobalFilter, Ordered {
+
+	public static final int ORDER = Ordered.HIGHEST_PRECEDENCE + 100;
+
+	public static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+
+	private final RateLimitProperties properties;
+	private final ClientIdentityResolver identityResolver;
+	private final Cache<String, TokenBucket> buckets;
+
+	public RateLimitFilter(RateLimitProperties properties, ClientIdentityResolver identityResolver) {
+		this.properties = properties;
+		this.identityResolver = identityResolver;
+		// An evicted bucket comes back full; evicting only after the slowest bucket could refill keeps that exact
+		Duration slowestRefill = properties.getDefaults().refillTime();
+		for (RateLimitProperties.Limit limit : properties.getRoles().values()) {
+			slowestRefill = max(slowestRefill, limit.refillTime());
+		}
+		for (RateLimitProperties.Limit limit : properties.getRoutes().values()) {
+			slowestRefill = max(slowestRefill, limit.refillTime());
+		}
+		this.buckets = Caffeine.newBuilder()
+				.maximumSize(properties.getMaxClients())
+				.expireAfterAccess(max(properties.getIdleTimeout(), slowestRefill))
+				.build();
+	}
+
+	@Override
+	public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+		Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+		String routeId = route != null ? route.getId() : "";
+		ClientIdentity client = identityResolver.resolve(exchange);
+		String key = client.id() + '|' + client.role() + '|' + routeId;
+
+		long now = System.nanoTime();
+		TokenBucket bucket = buckets.get(key,
+				k -> new TokenBucket(properties.limitFor(routeId, client.role()), now));
+		long waitNanos = bucket.tryTake(now);
+
+		ServerHttpResponse response = exchange.getResponse();
+		if (waitNanos > 0) {
+			response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+			// Retry-After is whole seconds, rounded up so an immediate retry is not rejected again
+			response.getHeaders().set(HttpHeaders.RETRY_AFTER,
+					Long.toString(Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1))));
+			response.getHeaders().set(REMAINING_HEADER, "0");
+			return response.setComplete();
+		}
+		response.getHeaders().set(REMAINING_HEADER, Long.toString(bucket.available(now)));
+		return chain.filter(exchange);
+	}
+
+	@Override
+	public int getOrder() {
+		return ORDER;
+	}
+
+	public long trackedClients() {
+		buckets.cleanUp();
+		return buckets.estimatedSize();
+	}
+
+	private static Duration max(Duration a, Duration b) {
+		return a.compareTo(b) >= 0 ? a : b;
+	}
+}
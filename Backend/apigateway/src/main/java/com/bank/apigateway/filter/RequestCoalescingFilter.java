@@ -0,0 +1,168 @@
+package com.bank.apigateway.filter;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.bank.apigateway.cache.CachedResponse;
+import com.bank.apigateway.cache.ResponseCacheKey;
+import com.bank.apigateway.config.RequestCoalescingProperties;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.reactivestreams.Publisher;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+// Single-flight for identical GETs on the routes under gateway.request-coalescing.routes: the first request
+// (the leader) goes upstream, identical requests arriving while it is in flight subscribe to its response.
+// Waiting is a subscription, not a blocked thread. Only a 2xx response is shared: a follower whose leader
+// fails or gets any other status (an upstream 5xx, RouteGuardFilter's 503), or who waits longer than max-wait,
+// falls back to its own upstream call.
+@Component
+@ConditionalOnProperty(name = "gateway.request-coalescing.enabled", havingValue = "true", matchIfMissing = true)
+public class RequestCoalescingFilter implements GlobalFilter, Ordered {
+
+	// Behind the response cache, so it collapses the misses that would otherwise stampede an expired entry
+	public static final int ORDER = ResponseCacheFilter.ORDER + 100;
+
+	public static final String COALESCED_HEADER = "X-Coalesced";
+
+	public static final String REQUESTS_METRIC = "gateway.request.coalescing.requests";
+
+	private final RequestCoalescingProperties properties;
+	private final ClientIdentityResolver identityResolver;
+	private final MeterRegistry meterRegistry;
+	private final ConcurrentHashMap<ResponseCacheKey, Sinks.One<CachedResponse>> inFlight = new ConcurrentHashMap<>();
+
+	public RequestCoalescingFilter(RequestCoalescingProperties properties, ClientIdentityResolver identityResolver,
+			MeterRegistry meterRegistry) {
+		this.properties = properties;
+		this.identityResolver = identityResolver;
+		this.meterRegistry = meterRegistry;
+	}
+
+	@Override
+	public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+		Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+		if (route == null || exchange.getRequest().getMethod() != HttpMethod.GET) {
+			return chain.filter(exchange);
+		}
+		RequestCoalescingProperties.Route settings = properties.getRoutes().get(route.getId());
+		if (settings == null) {
+			return chain.filter(exchange);
+		}
+
+		ResponseCacheKey key = ResponseCacheKey.of(route.getId(), exchange.getRequest(),
+				identityResolver.resolve(exchange).role());
+		Sinks.One<CachedResponse> sink = Sinks.one();
+		Sinks.One<CachedResponse> leader = inFlight.putIfAbsent(key, sink);
+		if (leader != null) {
+			return follow(exchange, chain, route.getId(), leader, settings);
+		}
+
+		record(route.getId(), "leader");
+		return chain.filter(exchange.mutate()
+						.response(new SharingResponse(exchange.getResponse(), key, sink))
+						.build())
+				.doFinally(signal -> {
+					// Error, cancellation or a response without a buffered body: release the followers
+					inFlight.remove(key, sink);
+					sink.tryEmitError(new IllegalStateException("Shared upstream call ended without a response"));
+				});
+	}
+
+	@Override
+	public int getOrder() {
+		return ORDER;
+	}
+
+	public int inFlightCount() {
+		return inFlight.size();
+	}
+
+	private Mono<Void> follow(ServerWebExchange exchange, GatewayFilterChain chain, String routeId,
+			Sinks.One<CachedResponse> leader, RequestCoalescingProperties.Route settings) {
+		Mono<Void> fallback = Mono.defer(() -> {
+			record(routeId, "fallback");
+			return chain.filter(exchange);
+		});
+		return leader.asMono()
+				.timeout(settings.getMaxWait())
+				.onErrorResume(e -> Mono.empty())
+				.map(shared -> {
+					record(routeId, "follower");
+					exchange.getResponse().getHeaders().set(COALESCED_HEADER, "true");
+					return shared.writeTo(exchange.getResponse());
+				})
+				.defaultIfEmpty(fallback)
+				.flatMap(write -> write);
+	}
+
+	private void record(String routeId, String role) {
+		Counter.builder(REQUESTS_METRIC)
+				.tag("route", routeId)
+				.tag("role", role)
+				.register(meterRegistry)
+				.increment();
+	}
+
+	// Buffers the leader's response and hands it to the followers before writing it to the leader's client
+	private final class SharingResponse extends ServerHttpResponseDecorator {
+
+		private final ResponseCacheKey key;
+		private final Sinks.One<CachedResponse> sink;
+
+		SharingResponse(ServerHttpResponse delegate, ResponseCacheKey key, Sinks.One<CachedResponse> sink) {
+			super(delegate);
+			this.key = key;
+			this.sink = sink;
+		}
+
+		@Override
+		public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+			return DataBufferUtils.join(body).defaultIfEmpty(bufferFactory().wrap(new byte[0])).flatMap(joined -> {
+				byte[] bytes = new byte[joined.readableByteCount()];
+				joined.read(bytes);
+				DataBufferUtils.release(joined);
+
+				// Requests arriving from now on start a new flight (or hit the response cache)
+				inFlight.remove(key, sink);
+				HttpStatusCode status = getStatusCode();
+				if (status == null || status.is2xxSuccessful()) {
+					sink.tryEmitValue(CachedResponse.capture(this, bytes, System.nanoTime(), 0, 0));
+				} else {
+					release(status);
+				}
+				return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+			});
+		}
+
+		// A response without a body, such as RouteGuardFilter's 503
+		@Override
+		public Mono<Void> setComplete() {
+			inFlight.remove(key, sink);
+			release(getStatusCode());
+			return super.setComplete();
+		}
+
+		// The followers' own calls may well succeed where the leader's did not
+		private void release(HttpStatusCode status) {
+			sink.tryEmitError(new IllegalStateException("Shared upstream call answered " + status));
+		}
+	}
+}
@@ -0,0 +1,192 @@
+package com.bank.apigateway.filter;
+
+import com.bank.apigateway.cache.CachedResponse;
+import com.bank.apigateway.cache.ResponseCache;
+import com.bank.apigateway.cache.ResponseCacheKey;
+import com.bank.apigateway.config.ResponseCacheProperties;
+
+import org.reactivestreams.Publisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.AbstractServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// Caches 200 responses to GET requests on the routes configured under gateway.response-cache.routes.
+// A stale entry is still served while a single background request through the rest of the chain refreshes it.
+@Component
+@ConditionalOnProperty(name = "gateway.response-cache.enabled", havingValue = "true", matchIfMissing = true)
+public class ResponseCacheFilter implements GlobalFilter, Ordered {
+
+	private static final Logger logger = LoggerFactory.getLogger(ResponseCacheFilter.class);
+
+	// After rate limiting, so cached responses still count against the caller's bucket
+	public static final int ORDER = RateLimitFilter.ORDER + 100;
+
+	public static final String CACHE_HEADER = "X-Cache";
+
+	private final ResponseCacheProperties properties;
+	private final ResponseCache cache;
+	private final ClientIdentityResolver identityResolver;
+
+	public ResponseCacheFilter(ResponseCacheProperties properties, ResponseCache cache,
+			ClientIdentityResolver identityResolver) {
+		this.properties = properties;
+		this.cache = cache;
+		this.identityResolver = identityResolver;
+	}
+
+	@Override
+	public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+		Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+		if (route == null || exchange.getRequest().getMethod() != HttpMethod.GET) {
+			return chain.filter(exchange);
+		}
+		ResponseCacheProperties.Route settings = properties.getRoutes().get(route.getId());
+		if (settings == null) {
+			return chain.filter(exchange);
+		}
+
+		ResponseCacheKey key = ResponseCacheKey.of(route.getId(), exchange.getRequest(),
+				identityResolver.resolve(exchange).role());
+		long now = System.nanoTime();
+		CachedResponse cached = cache.get(key);
+		if (cached != null && cached.isFresh(now)) {
+			cache.record(route.getId(), ResponseCache.Result.HIT);
+			return write(exchange.getResponse(), cached, ResponseCache.Result.HIT, now);
+		}
+		if (cached != null && cached.isServable(now)) {
+			if (cached.tryStartRefresh()) {
+				refresh(exchange, chain, key, settings, cached);
+			}
+			cache.record(route.getId(), ResponseCache.Result.STALE);
+			return write(exchange.getResponse(), cached, ResponseCache.Result.STALE, now);
+		}
+
+		cache.record(route.getId(), ResponseCache.Result.MISS);
+		exchange.getResponse().getHeaders().set(CACHE_HEADER, ResponseCache.Result.MISS.name());
+		return chain.filter(exchange.mutate()
+				.response(new CachingResponse(exchange.getResponse(), key, settings))
+				.build());
+	}
+
+	@Override
+	public int getOrder() {
+		return ORDER;
+	}
+
+	// Sends the request down the chain again, detached from the client's (already answered) exchange
+	private void refresh(ServerWebExchange exchange, GatewayFilterChain chain, ResponseCacheKey key,
+			ResponseCacheProperties.Route settings, CachedResponse stale) {
+		ServerWebExchange refreshExchange = exchange.mutate()
+				.request(new ServerHttpRequestDecorator(exchange.getRequest()) {
+					@Override
+					public Flux<DataBuffer> getBody() {
+						return Flux.empty();
+					}
+				})
+				.response(new CachingResponse(new DetachedResponse(exchange.getResponse().bufferFactory()), key, settings))
+				.build();
+		chain.filter(refreshExchange)
+				.doFinally(signal -> stale.refreshDone())
+				.subscribe(null, e -> logger.warn("Refreshing cached response for {} failed: {}", key, e.toString()));
+	}
+
+	private static Mono<Void> write(ServerHttpResponse response, CachedResponse cached, ResponseCache.Result result,
+			long now) {
+		response.getHeaders().set(HttpHeaders.AGE, Long.toString(cached.ageSeconds(now)));
+		response.getHeaders().set(CACHE_HEADER, result.name());
+		return cached.writeTo(response);
+	}
+
+	// Buffers the upstream body and stores it if the response allows caching; streamed (flushed) responses pass through
+	private final class CachingResponse extends ServerHttpResponseDecorator {
+
+		private final ResponseCacheKey key;
+		private final ResponseCacheProperties.Route settings;
+
+		CachingResponse(ServerHttpResponse delegate, ResponseCacheKey key, ResponseCacheProperties.Route settings) {
+			super(delegate);
+			this.key = key;
+			this.settings = settings;
+		}
+
+		@Override
+		public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+			if (!isCacheable()) {
+				return super.writeWith(body);
+			}
+			return DataBufferUtils.join(body).defaultIfEmpty(bufferFactory().wrap(new byte[0])).flatMap(joined -> {
+				byte[] bytes = new byte[joined.readableByteCount()];
+				joined.read(bytes);
+				DataBufferUtils.release(joined);
+
+				cache.put(key, CachedResponse.capture(this, bytes, System.nanoTime(),
+						settings.getTtl().toNanos(), settings.getStaleWhileRevalidate().toNanos()));
+				return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+			});
+		}
+
+		private boolean isCacheable() {
+			if (!HttpStatus.OK.equals(getStatusCode()) || getHeaders().containsKey(HttpHeaders.SET_COOKIE)) {
+				return false;
+			}
+			String cacheControl = getHeaders().getCacheControl();
+			return cacheControl == null || !(cacheControl.contains("no-store") || cacheControl.contains("private")
+					|| cacheControl.contains("no-cache"));
+		}
+	}
+
+	// Target for background refreshes: accepts status, headers and body, and discards the body
+	private static final class DetachedResponse extends AbstractServerHttpResponse {
+
+		DetachedResponse(DataBufferFactory bufferFactory) {
+			super(bufferFactory);
+		}
+
+		@Override
+		public <T> T getNativeResponse() {
+			throw new IllegalStateException("Detached refresh response has no native response");
+		}
+
+		@Override
+		protected Mono<Void> writeWithInternal(Publisher<? extends DataBuffer> body) {
+			return Flux.from(body).doOnNext(DataBufferUtils::release).then();
+		}
+
+		@Override
+		protected Mono<Void> writeAndFlushWithInternal(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+			return Flux.from(body).concatMap(Flux::from).doOnNext(DataBufferUtils::release).then();
+		}
+
+		@Override
+		protected void applyStatusCode() {
+		}
+
+		@Override
+		protected void applyHeaders() {
+		}
+
+		@Override
+		protected void applyCookies() {
+		}
+	}
+}
@@ -0,0 +1,131 @@
+package com.bank.apigateway.filter;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import com.bank.apigateway.config.RouteGuardProperties;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+// Per-route adaptive concurrency limit and circuit breaker. A route whose downstream slows down gets a
+// smaller limit, one that keeps failing gets an open circuit; either way the excess is answered at once with
+// 503 instead of queueing in the gateway, so one backed-up service cannot take the connections and memory of
+// every other route. A 5xx response, an error or a timeout counts as a failed call.
+@Component
+@ConditionalOnProperty(name = "gateway.route-guard.enabled", havingValue = "true", matchIfMissing = true)
+public class RouteGuardFilter implements GlobalFilter, Ordered {
+
+	// Last of the gateway's own filters, so cached responses and coalesced followers never take a permit
+	public static final int ORDER = RequestCoalescingFilter.ORDER + 100;
+
+	// Why the gateway answered itself: circuit-open or concurrency-limit
+	public static final String REJECTED_HEADER = "X-Gateway-Rejected";
+
+	public static final String REJECTIONS_METRIC = "gateway.route.guard.rejections";
+	public static final String LIMIT_METRIC = "gateway.route.concurrency.limit";
+	public static final String IN_FLIGHT_METRIC = "gateway.route.concurrency.in-flight";
+
+	private final RouteGuardProperties properties;
+	private final MeterRegistry meterRegistry;
+	private final Map<String, RouteGuard> guards = new ConcurrentHashMap<>();
+
+	public RouteGuardFilter(RouteGuardProperties properties, MeterRegistry meterRegistry) {
+		this.properties = properties;
+		this.meterRegistry = meterRegistry;
+	}
+
+	@Override
+	public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+		Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+		if (route == null || !properties.guardFor(route.getId()).isEnabled()) {
+			return chain.filter(exchange);
+		}
+		RouteGuard guard = guards.computeIfAbsent(route.getId(), this::createGuard);
+
+		long start = System.nanoTime();
+		if (!guard.breaker().tryAcquire(start)) {
+			return reject(exchange, route.getId(), "circuit-open", guard.breaker().retryAfterNanos(start));
+		}
+		if (!guard.limit().tryAcquire()) {
+			guard.breaker().onCancel();
+			return reject(exchange, route.getId(), "concurrency-limit", 0);
+		}
+
+		return chain.filter(exchange).doFinally(signal -> {
+			long end = System.nanoTime();
+			if (signal == SignalType.CANCEL) {
+				guard.limit().onCancel();
+				guard.breaker().onCancel();
+			} else if (signal == SignalType.ON_ERROR || isServerError(exchange.getResponse().getStatusCode())) {
+				guard.limit().onFailure();
+				guard.breaker().onFailure(end);
+			} else {
+				guard.limit().onSuccess(end - start);
+				guard.breaker().onSuccess();
+			}
+		});
+	}
+
+	@Override
+	public int getOrder() {
+		return ORDER;
+	}
+
+	// Guards of the routes that have had traffic, by route id
+	public Map<String, RouteGuard> guards() {
+		return guards;
+	}
+
+	private RouteGuard createGuard(String routeId) {
+		RouteGuardProperties.Guard settings = properties.guardFor(routeId);
+		RouteGuard guard = new RouteGuard(new AdaptiveConcurrencyLimit(settings), new CircuitBreaker(settings));
+		Gauge.builder(LIMIT_METRIC, guard.limit(), AdaptiveConcurrencyLimit::limit)
+				.tag("route", routeId)
+				.register(meterRegistry);
+		Gauge.builder(IN_FLIGHT_METRIC, guard.limit(), AdaptiveConcurrencyLimit::inFlight)
+				.tag("route", routeId)
+				.register(meterRegistry);
+		return guard;
+	}
+
+	private Mono<Void> reject(ServerWebExchange exchange, String routeId, String reason, long retryAfterNanos) {
+		Counter.builder(REJECTIONS_METRIC)
+				.tag("route", routeId)
+				.tag("reason", reason)
+				.register(meterRegistry)
+				.increment();
+		ServerHttpResponse response = exchange.getResponse();
+		response.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+		response.getHeaders().set(REJECTED_HEADER, reason);
+		// Whole seconds, rounded up; at least 1 so clients back off from a saturated route as well
+		response.getHeaders().set(HttpHeaders.RETRY_AFTER,
+				Long.toString(Math.max(1, (retryAfterNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1))));
+		return response.setComplete();
+	}
+
+	private static boolean isServerError(HttpStatusCode status) {
+		return status != null && status.is5xxServerError();
+	}
+
+	public record RouteGuard(AdaptiveConcurrencyLimit limit, CircuitBreaker breaker) {
+	}
+}
@@ -0,0 +1,42 @@
+package com.bank.apigateway.filter;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.bank.apigateway.config.RateLimitProperties;
+
+// Token bucket kept as a single timestamp (the generic cell rate algorithm): the bucket is empty at
+// `emptyAt` and refills one token every `interval` nanoseconds. A take is one compare-and-set, with no
+// lock and no separate refill step.
+public final class TokenBucket {
+
+	private final long interval;
+	private final long capacityNanos;
+	private final AtomicLong emptyAt;
+
+	public TokenBucket(RateLimitProperties.Limit limit, long nanoTime) {
+		this.interval = Math.max(1, (long) (1_000_000_000L / limit.getRefillPerSecond()));
+		this.capacityNanos = interval * limit.getCapacity();
+		// Starts full
+		this.emptyAt = new AtomicLong(nanoTime);
+	}
+
+	// Returns 0 if a token was taken, otherwise the nanoseconds until the next token is available
+	public long tryTake(long nanoTime) {
+		while (true) {
+			long current = emptyAt.get();
+			long next = Math.max(current, nanoTime) + interval;
+			long waitNanos = next - nanoTime - capacityNanos;
+			if (waitNanos > 0) {
+				return waitNanos;
+			}
+			if (emptyAt.compareAndSet(current, next)) {
+				return 0;
+			}
+		}
+	}
+
+	public long available(long nanoTime) {
+		long used = Math.max(emptyAt.get() - nanoTime, 0);
+		return (capacityNanos - used) / interval;
+	}
+}
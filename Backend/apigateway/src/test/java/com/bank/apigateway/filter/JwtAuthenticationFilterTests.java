@@ -0,0 +1,170 @@
+package com.bank.apigateway.filter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Date;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import com.bank.apigateway.auth.JwtVerifier;
+import com.bank.apigateway.endpoint.RevocationEndpoint;
+import com.sun.net.httpserver.HttpServer;
+
+import io.jsonwebtoken.Jwts;
+
+// The stub backend echoes the caller headers it receives
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+		"eureka.client.enabled=false",
+		"management.server.port=0",
+		"gateway.auth.enabled=true",
+		"gateway.auth.issuer=authservice",
+		"spring.cloud.gateway.routes[0].id=users",
+		"spring.cloud.gateway.routes[0].uri=${stub.url}",
+		"spring.cloud.gateway.routes[0].predicates[0]=Path=/api/**"
+})
+class JwtAuthenticationFilterTests {
+
+	private static final KeyPair keys = Jwts.SIG.RS256.keyPair().build();
+	private static final HttpServer stub = startStub();
+
+	@Autowired
+	private WebTestClient client;
+
+	@Autowired
+	private JwtVerifier verifier;
+
+	@Autowired
+	private RevocationEndpoint revocations;
+
+	@DynamicPropertySource
+	static void properties(DynamicPropertyRegistry registry) {
+		registry.add("stub.url", () -> "http://localhost:" + stub.getAddress().getPort());
+		registry.add("gateway.auth.public-key", () -> "-----BEGIN PUBLIC KEY-----\n"
+				+ Base64.getMimeEncoder().encodeToString(keys.getPublic().getEncoded())
+				+ "\n-----END PUBLIC KEY-----");
+	}
+
+	@AfterAll
+	static void stopStub() {
+		stub.stop(0);
+	}
+
+	@Test
+	void propagatesVerifiedCallerAndReplacesSpoofedHeaders() {
+		String token = token("user-1", "DONOR", "authservice", Duration.ofMinutes(10));
+		long cachedBefore = verifier.cachedTokens();
+
+		for (int i = 0; i < 3; i++) {
+			client.get().uri("/api/users/me")
+					.header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+					.header(JwtAuthenticationFilter.USER_ROLE_HEADER, "SYSTEM_ADMIN")
+					.exchange()
+					.expectStatus().isOk()
+					.expectBody(String.class).isEqualTo("user-1 DONOR");
+		}
+		assertEquals(cachedBefore + 1, verifier.cachedTokens());
+	}
+
+	@Test
+	void rejectsMissingForeignExpiredAndTamperedTokens() {
+		String valid = token("user-2", "DONOR", "authservice", Duration.ofMinutes(10));
+		String[] payload = valid.split("\\.");
+		String elevated = Base64.getUrlEncoder().withoutPadding().encodeToString(new String(
+				Base64.getUrlDecoder().decode(payload[1]), StandardCharsets.UTF_8)
+				.replace("DONOR", "SYSTEM_ADMIN").getBytes(StandardCharsets.UTF_8));
+
+		expectUnauthorized(null);
+		expectUnauthorized(token("user-2", "DONOR", "elsewhere", Duration.ofMinutes(10)));
+		expectUnauthorized(token("user-2", "DONOR", "authservice", Duration.ofMinutes(-5)));
+		expectUnauthorized(payload[0] + "." + elevated + "." + payload[2]);
+	}
+
+	@Test
+	void honoursRevokedTokensAndUsers() {
+		String first = token("user-3", "DONOR", "authservice", Duration.ofMinutes(10));
+		String second = token("user-3", "DONOR", "authservice", Duration.ofMinutes(10));
+		expectOk(first);
+
+		revocations.revoke(verifier.verify(first).tokenId(), verifier.verify(first).expiresAt(), null);
+		expectUnauthorized(first);
+		expectOk(second);
+
+		revocations.revoke(null, null, "user-3");
+		expectUnauthorized(second);
+	}
+
+	@Test
+	void publicPathsNeedNoToken() {
+		client.get().uri("/api/auth/login")
+				.header(JwtAuthenticationFilter.USER_ID_HEADER, "user-1")
+				.exchange()
+				.expectStatus().isOk()
+				.expectBody(String.class).isEqualTo("null null");
+	}
+
+	private void expectOk(String token) {
+		client.get().uri("/api/users/me").header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+				.exchange()
+				.expectStatus().isOk();
+	}
+
+	private void expectUnauthorized(String token) {
+		WebTestClient.RequestHeadersSpec<?> request = client.get().uri("/api/users/me");
+		if (token != null) {
+			request.header(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+		}
+		request.exchange()
+				.expectStatus().isUnauthorized()
+				.expectHeader().exists(HttpHeaders.WWW_AUTHENTICATE);
+	}
+
+	private static String token(String subject, String role, String issuer, Duration validFor) {
+		Instant now = Instant.now();
+		return Jwts.builder()
+				.id(UUID.randomUUID().toString())
+				.subject(subject)
+				.issuer(issuer)
+				.claim(JwtVerifier.ROLE_CLAIM, role)
+				// Backdated so a subject revoked right after issuing covers it regardless of clock resolution
+				.issuedAt(Date.from(now.minusSeconds(1)))
+				.expiration(Date.from(now.plus(validFor)))
+				.signWith(keys.getPrivate())
+				.compact();
+	}
+
+	private static HttpServer startStub() {
+		try {
+			HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+			server.createContext("/", exchange -> {
+				byte[] body = (exchange.getRequestHeaders().getFirst(JwtAuthenticationFilter.USER_ID_HEADER) + " "
+						+ exchange.getRequestHeaders().getFirst(JwtAuthenticationFilter.USER_ROLE_HEADER))
+						.getBytes(StandardCharsets.UTF_8);
+				exchange.sendResponseHeaders(200, body.length);
+				try (OutputStream out = exchange.getResponseBody()) {
+					out.write(body);
+				}
+			});
+			server.start();
+			return server;
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+}
@@ -0,0 +1,109 @@
+package com.bank.apigateway.filter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+import com.bank.apigateway.config.RateLimitProperties;
+import com.bank.apigateway.filter.ClientIdentityResolver.ClientIdentity;
+
+import reactor.core.publisher.Mono;
+
+class RateLimitFilterTests {
+
+	private RateLimitFilter filter;
+
+	@BeforeEach
+	void setUp() {
+		RateLimitProperties properties = new RateLimitProperties();
+		properties.getDefaults().setCapacity(3);
+		properties.getDefaults().setRefillPerSecond(0.1);
+		RateLimitProperties.Limit admin = new RateLimitProperties.Limit();
+		admin.setCapacity(5);
+		admin.setRefillPerSecond(0.1);
+		properties.getRoles().put("SYSTEM_ADMIN", admin);
+		filter = new RateLimitFilter(properties, new ClientIdentityResolver());
+	}
+
+	@Test
+	void rejectsOnceBurstIsSpentWithRetryAfter() {
+		for (int i = 2; i >= 0; i--) {
+			MockServerWebExchange exchange = send(verified("donor-1", "DONOR"));
+			assertNull(exchange.getResponse().getStatusCode());
+			assertEquals(Integer.toString(i), exchange.getResponse().getHeaders().getFirst(RateLimitFilter.REMAINING_HEADER));
+		}
+
+		MockServerWebExchange rejected = send(verified("donor-1", "DONOR"));
+
+		assertEquals(HttpStatus.TOO_MANY_REQUESTS, rejected.getResponse().getStatusCode());
+		// One token every 10 s
+		assertEquals("10", rejected.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+	}
+
+	@Test
+	void keepsSeparateBucketsPerClientAndRole() {
+		for (int i = 0; i < 3; i++) {
+			send(verified("donor-1", "DONOR"));
+		}
+
+		assertNull(send(verified("donor-2", "DONOR")).getResponse().getStatusCode());
+		assertNull(send(null).getResponse().getStatusCode());
+		for (int i = 0; i < 5; i++) {
+			assertNull(send(verified("admin", "SYSTEM_ADMIN")).getResponse().getStatusCode());
+		}
+		assertEquals(HttpStatus.TOO_MANY_REQUESTS, send(verified("admin", "SYSTEM_ADMIN")).getResponse().getStatusCode());
+		assertEquals(4, filter.trackedClients());
+	}
+
+	@Test
+	void unverifiedTokensShareTheBucketOfTheirAddress() {
+		for (int i = 0; i < 3; i++) {
+			assertNull(sendUnverified(unsignedToken("forged-" + i, "SYSTEM_ADMIN")).getResponse().getStatusCode());
+		}
+
+		MockServerWebExchange rejected = sendUnverified(unsignedToken("forged-3", "SYSTEM_ADMIN"));
+
+		assertEquals(HttpStatus.TOO_MANY_REQUESTS, rejected.getResponse().getStatusCode());
+		assertEquals(1, filter.trackedClients());
+	}
+
+	// As JwtAuthenticationFilter leaves it after verifying the token; null for an anonymous caller
+	private MockServerWebExchange send(ClientIdentity identity) {
+		MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/users"));
+		if (identity != null) {
+			exchange.getAttributes().put(ClientIdentityResolver.IDENTITY_ATTRIBUTE, identity);
+		}
+		filter.filter(exchange, e -> Mono.empty()).block();
+		return exchange;
+	}
+
+	private MockServerWebExchange sendUnverified(String token) {
+		MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/users")
+				.remoteAddress(new InetSocketAddress("203.0.113.7", 40000))
+				.header(HttpHeaders.AUTHORIZATION, "Bearer " + token));
+		filter.filter(exchange, e -> Mono.empty()).block();
+		return exchange;
+	}
+
+	private static ClientIdentity verified(String subject, String role) {
+		return new ClientIdentity("user:" + subject, role);
+	}
+
+	private static String unsignedToken(String subject, String role) {
+		Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+		String payload = "{\"sub\":\"" + subject + "\",\"role\":\"" + role + "\"}";
+		return encoder.encodeToString("{\"alg\":\"RS256\"}".getBytes(StandardCharsets.UTF_8)) + "."
+				+ encoder.encodeToString(payload.getBytes(StandardCharsets.UTF_8)) + ".signature";
+	}
+
+}
@@ -0,0 +1,179 @@
+package com.bank.apigateway.filter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.sun.net.httpserver.HttpServer;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+// Bursts of identical GETs against a local stub backend that takes 200 ms per call, through a coalesced
+// route and an uncoalesced route to the same backend
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+		"eureka.client.enabled=false",
+		"management.server.port=0",
+		"gateway.rate-limit.enabled=false",
+		"gateway.route-guard.enabled=false",
+		"spring.cloud.gateway.routes[0].id=inventory",
+		"spring.cloud.gateway.routes[0].uri=${stub.url}",
+		"spring.cloud.gateway.routes[0].predicates[0]=Path=/api/inventory/**",
+		"spring.cloud.gateway.routes[1].id=direct",
+		"spring.cloud.gateway.routes[1].uri=${stub.url}",
+		"spring.cloud.gateway.routes[1].predicates[0]=Path=/api/direct/**",
+		"gateway.request-coalescing.routes.inventory.max-wait=1s"
+})
+class RequestCoalescingFilterTests {
+
+	private static final Map<String, AtomicInteger> upstreamCalls = new ConcurrentHashMap<>();
+	private static final HttpServer stub = startStub();
+
+	@LocalServerPort
+	private int port;
+
+	@DynamicPropertySource
+	static void stubUrl(DynamicPropertyRegistry registry) {
+		registry.add("stub.url", () -> "http://localhost:" + stub.getAddress().getPort());
+	}
+
+	@AfterAll
+	static void stopStub() {
+		stub.stop(0);
+	}
+
+	@BeforeEach
+	void setUp() {
+		upstreamCalls.clear();
+	}
+
+	@Test
+	void burstOfIdenticalQueriesSharesOneUpstreamCallPerQuery() {
+		List<String> queries = List.of("state=KA&group=O-", "state=KA&group=A%2B", "state=MH&group=O-", "state=MH&group=B-");
+		int burst = 400;
+
+		List<ResponseEntity<String>> coalesced = burst("/api/inventory/search?", queries, burst);
+		List<ResponseEntity<String>> direct = burst("/api/direct/search?", queries, burst);
+
+		int coalescedCalls = upstream("/api/inventory/search");
+		int directCalls = upstream("/api/direct/search");
+
+		assertTrue(coalesced.stream().allMatch(response -> response.getStatusCode().is2xxSuccessful()));
+		assertTrue(direct.stream().allMatch(response -> response.getStatusCode().is2xxSuccessful()));
+		assertEquals(burst, directCalls);
+		assertTrue(coalescedCalls <= burst / 10, "coalesced upstream calls: " + coalescedCalls);
+		assertTrue(coalesced.stream().anyMatch(response ->
+				"true".equals(response.getHeaders().getFirst(RequestCoalescingFilter.COALESCED_HEADER))));
+	}
+
+	@Test
+	void followersFallBackToTheirOwnCallWhenTheSharedCallFails() {
+		List<ResponseEntity<String>> responses = burst("/api/inventory/fail-first?", List.of("q=1"), 5);
+
+		// The leader's connection is dropped; every follower retries on its own and succeeds
+		assertEquals(1, responses.stream().filter(response -> response.getStatusCode().is5xxServerError()).count());
+		assertEquals(4, responses.stream().filter(response -> response.getStatusCode().is2xxSuccessful()).count());
+		assertEquals(5, upstream("/api/inventory/fail-first"));
+	}
+
+	@Test
+	void followersFallBackWhenTheLeaderGetsAnErrorStatus() {
+		List<ResponseEntity<String>> responses = burst("/api/inventory/unavailable-first?", List.of("q=1"), 5);
+
+		// The 503 reaches the leader only; no follower is handed it
+		assertEquals(1, responses.stream().filter(response -> response.getStatusCode().value() == 503).count());
+		assertEquals(4, responses.stream().filter(response -> response.getStatusCode().is2xxSuccessful()).count());
+		assertEquals(5, upstream("/api/inventory/unavailable-first"));
+	}
+
+	@Test
+	void followersStopWaitingAfterMaxWait() {
+		List<ResponseEntity<String>> responses = burst("/api/inventory/slow?", List.of("q=1"), 3);
+
+		assertTrue(responses.stream().allMatch(response -> response.getStatusCode().is2xxSuccessful()));
+		assertEquals(3, upstream("/api/inventory/slow"));
+	}
+
+	private List<ResponseEntity<String>> burst(String pathPrefix, List<String> queries, int requests) {
+		ConnectionProvider connections = ConnectionProvider.builder("burst")
+				.maxConnections(requests)
+				.pendingAcquireMaxCount(-1)
+				.build();
+		try {
+			WebClient client = WebClient.builder()
+					.baseUrl("http://localhost:" + port)
+					.clientConnector(new ReactorClientHttpConnector(HttpClient.create(connections)))
+					.build();
+			return Flux.range(0, requests)
+					.flatMap(i -> client.get()
+							.uri(pathPrefix + queries.get(i % queries.size()))
+							.retrieve()
+							.onStatus(status -> true, response -> Mono.empty())
+							.toEntity(String.class), requests)
+					.collectList()
+					.block(Duration.ofSeconds(30));
+		} finally {
+			connections.dispose();
+		}
+	}
+
+	private static int upstream(String path) {
+		AtomicInteger calls = upstreamCalls.get(path);
+		return calls != null ? calls.get() : 0;
+	}
+
+	private static HttpServer startStub() {
+		try {
+			HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 1000);
+			server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+			server.createContext("/", exchange -> {
+				String path = exchange.getRequestURI().getPath();
+				int call = upstreamCalls.computeIfAbsent(path, p -> new AtomicInteger()).incrementAndGet();
+				try {
+					Thread.sleep(path.endsWith("/slow") ? 1500 : 200);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				if (path.endsWith("/fail-first") && call == 1) {
+					exchange.close();
+					return;
+				}
+				byte[] body = ("{\"query\":\"" + exchange.getRequestURI().getQuery() + "\",\"call\":" + call + "}")
+						.getBytes(StandardCharsets.UTF_8);
+				exchange.getResponseHeaders().add("Content-Type", "application/json");
+				exchange.sendResponseHeaders(path.endsWith("/unavailable-first") && call == 1 ? 503 : 200, body.length);
+				try (OutputStream out = exchange.getResponseBody()) {
+					out.write(body);
+				}
+			});
+			server.start();
+			return server;
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+}
@@ -0,0 +1,152 @@
+package com.bank.apigateway.filter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.EntityExchangeResult;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import com.bank.apigateway.endpoint.ResponseCacheEndpoint;
+import com.sun.net.httpserver.HttpServer;
+
+// Runs the gateway against a local stub backend whose body counts the upstream calls
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+		"eureka.client.enabled=false",
+		"management.server.port=0",
+		"spring.cloud.gateway.routes[0].id=inventory",
+		"spring.cloud.gateway.routes[0].uri=${stub.url}",
+		"spring.cloud.gateway.routes[0].predicates[0]=Path=/api/inventory/**",
+		"spring.cloud.gateway.routes[1].id=listings",
+		"spring.cloud.gateway.routes[1].uri=${stub.url}",
+		"spring.cloud.gateway.routes[1].predicates[0]=Path=/api/bloodbanks/**",
+		"gateway.response-cache.routes.inventory.ttl=1m",
+		"gateway.response-cache.routes.listings.ttl=100ms",
+		"gateway.response-cache.routes.listings.stale-while-revalidate=1m"
+})
+class ResponseCacheFilterTests {
+
+	private static final AtomicInteger upstreamCalls = new AtomicInteger();
+	private static final HttpServer stub = startStub();
+
+	@Autowired
+	private WebTestClient client;
+
+	@Autowired
+	private ResponseCacheEndpoint endpoint;
+
+	@DynamicPropertySource
+	static void stubUrl(DynamicPropertyRegistry registry) {
+		registry.add("stub.url", () -> "http://localhost:" + stub.getAddress().getPort());
+	}
+
+	@AfterAll
+	static void stopStub() {
+		stub.stop(0);
+	}
+
+	@BeforeEach
+	void setUp() {
+		endpoint.invalidate(null, null);
+		upstreamCalls.set(0);
+	}
+
+	@Test
+	void servesRepeatedQueryFromCacheWhateverTheParameterOrder() {
+		EntityExchangeResult<String> first = get("/api/inventory/search?state=KA&city=Bengaluru&group=O-");
+		EntityExchangeResult<String> second = get("/api/inventory/search?group=O-&city=Bengaluru&state=KA&hospital=");
+
+		assertEquals("MISS", first.getResponseHeaders().getFirst(ResponseCacheFilter.CACHE_HEADER));
+		assertEquals("HIT", second.getResponseHeaders().getFirst(ResponseCacheFilter.CACHE_HEADER));
+		assertEquals(first.getResponseBody(), second.getResponseBody());
+		assertEquals(1, upstreamCalls.get());
+	}
+
+	@Test
+	void doesNotCachePrivateResponses() {
+		get("/api/inventory/private");
+		get("/api/inventory/private");
+
+		assertEquals(2, upstreamCalls.get());
+	}
+
+	@Test
+	void servesStaleWhileOneBackgroundRequestRevalidates() throws InterruptedException {
+		String original = get("/api/bloodbanks").getResponseBody();
+		Thread.sleep(150);
+
+		EntityExchangeResult<String> stale = get("/api/bloodbanks");
+		get("/api/bloodbanks");
+
+		assertEquals("STALE", stale.getResponseHeaders().getFirst(ResponseCacheFilter.CACHE_HEADER));
+		assertEquals(original, stale.getResponseBody());
+		long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+		while (upstreamCalls.get() < 2 && System.nanoTime() < deadline) {
+			Thread.sleep(10);
+		}
+		EntityExchangeResult<String> refreshed = get("/api/bloodbanks");
+		assertEquals(2, upstreamCalls.get());
+		assertEquals("HIT", refreshed.getResponseHeaders().getFirst(ResponseCacheFilter.CACHE_HEADER));
+		assertEquals("{\"call\":2}", refreshed.getResponseBody());
+	}
+
+	@Test
+	void invalidatesByRouteAndPathAndReportsHitRatio() {
+		get("/api/inventory/search?state=KA");
+		get("/api/inventory/search?state=KA");
+
+		assertEquals(Map.of("invalidated", 1), endpoint.invalidate("inventory", "/api/inventory"));
+		assertEquals("MISS", get("/api/inventory/search?state=KA").getResponseHeaders()
+				.getFirst(ResponseCacheFilter.CACHE_HEADER));
+		@SuppressWarnings("unchecked")
+		Map<String, Map<String, Object>> routes = (Map<String, Map<String, Object>>) endpoint.stats().get("routes");
+		double hitRatio = (double) routes.get("inventory").get("hitRatio");
+		assertTrue(hitRatio > 0 && hitRatio < 1);
+		assertTrue(((Number) endpoint.stats().get("entries")).longValue() >= 1);
+	}
+
+	private EntityExchangeResult<String> get(String uri) {
+		return client.get().uri(uri).header(HttpHeaders.ACCEPT, "application/json")
+				.exchange()
+				.expectStatus().isOk()
+				.expectBody(String.class)
+				.returnResult();
+	}
+
+	private static HttpServer startStub() {
+		try {
+			HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+			server.createContext("/", exchange -> {
+				byte[] body = ("{\"call\":" + upstreamCalls.incrementAndGet() + "}").getBytes(StandardCharsets.UTF_8);
+				if (exchange.getRequestURI().getPath().endsWith("/private")) {
+					exchange.getResponseHeaders().add(HttpHeaders.CACHE_CONTROL, "private");
+				}
+				exchange.getResponseHeaders().add(HttpHeaders.CONTENT_TYPE, "application/json");
+				exchange.sendResponseHeaders(200, body.length);
+				try (OutputStream out = exchange.getResponseBody()) {
+					out.write(body);
+				}
+			});
+			server.start();
+			return server;
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+}
@@ -0,0 +1,234 @@
+package com.bank.apigateway.filter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.bank.apigateway.endpoint.RouteGuardEndpoint;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+// Local stub backends: billing serves 4 calls at a time in 50 ms each (80 calls/s) and queues the rest,
+// audit fails with a 500 or a dropped connection while `failing` is set
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+		"eureka.client.enabled=false",
+		"management.server.port=0",
+		"gateway.rate-limit.enabled=false",
+		"spring.cloud.gateway.routes[0].id=billing",
+		"spring.cloud.gateway.routes[0].uri=${stub.url}",
+		"spring.cloud.gateway.routes[0].predicates[0]=Path=/api/billing/**",
+		"spring.cloud.gateway.routes[1].id=billing-unguarded",
+		"spring.cloud.gateway.routes[1].uri=${stub.url}",
+		"spring.cloud.gateway.routes[1].predicates[0]=Path=/api/billing-unguarded/**",
+		"spring.cloud.gateway.routes[2].id=audit",
+		"spring.cloud.gateway.routes[2].uri=${stub.url}",
+		"spring.cloud.gateway.routes[2].predicates[0]=Path=/api/audit/**",
+		"gateway.route-guard.routes.billing.initial-limit=20",
+		"gateway.route-guard.routes.billing-unguarded.enabled=false",
+		"gateway.route-guard.routes.audit.sliding-window-size=10",
+		"gateway.route-guard.routes.audit.minimum-calls=5",
+		"gateway.route-guard.routes.audit.open-duration=500ms",
+		"gateway.route-guard.routes.audit.half-open-calls=2"
+})
+class RouteGuardFilterTests {
+
+	private static final Semaphore billingWorkers = new Semaphore(4);
+	private static final AtomicInteger billingInFlight = new AtomicInteger();
+	private static final AtomicInteger billingPeak = new AtomicInteger();
+	private static final AtomicInteger auditCalls = new AtomicInteger();
+	private static volatile boolean failing;
+	private static final HttpServer stub = startStub();
+
+	@LocalServerPort
+	private int port;
+
+	@Autowired
+	private RouteGuardEndpoint endpoint;
+
+	@DynamicPropertySource
+	static void stubUrl(DynamicPropertyRegistry registry) {
+		registry.add("stub.url", () -> "http://localhost:" + stub.getAddress().getPort());
+	}
+
+	@AfterAll
+	static void stopStub() {
+		stub.stop(0);
+	}
+
+	@Test
+	void slowDownstreamIsShedInsteadOfQueued() {
+		// 200 requests/s for 2 s against a backend that serves 80/s
+		billingPeak.set(0);
+		List<Timed> unguarded = load("/api/billing-unguarded/invoices", 400, Duration.ofMillis(5));
+		int unguardedPeak = billingPeak.getAndSet(0);
+		List<Timed> guarded = load("/api/billing/invoices", 400, Duration.ofMillis(5));
+		int guardedPeak = billingPeak.get();
+
+		long rejected = guarded.stream().filter(t -> t.status() == HttpStatus.SERVICE_UNAVAILABLE.value()).count();
+		long unguardedWorst = worstOk(unguarded);
+		long guardedWorst = worstOk(guarded);
+		Object limit = endpoint.route("billing").get("limit");
+
+		assertTrue(unguarded.stream().allMatch(t -> t.status() == 200));
+		assertTrue(rejected > 0);
+		assertTrue(guarded.stream().allMatch(t -> t.status() == 200 || t.status() == 503));
+		assertTrue(guardedPeak <= 20, "peak upstream concurrency: " + guardedPeak);
+		assertTrue(guardedPeak < unguardedPeak, guardedPeak + " vs " + unguardedPeak + " queued upstream");
+		assertTrue(guardedWorst * 2 < unguardedWorst, guardedWorst + " ms vs " + unguardedWorst + " ms");
+		assertTrue((int) limit < 15, "limit: " + limit);
+	}
+
+	@Test
+	void failingDownstreamOpensTheCircuitAndRecovers() {
+		WebClient client = WebClient.create("http://localhost:" + port);
+		failing = true;
+		auditCalls.set(0);
+
+		// The gateway's HTTP client may retry a dropped connection once, so the stub can see more than 5 calls
+		List<ResponseEntity<String>> failed = call(client, 5);
+		assertTrue(failed.stream().allMatch(response -> response.getStatusCode().is5xxServerError()));
+		awaitCircuit("OPEN");
+		int callsBeforeOpen = auditCalls.get();
+
+		List<ResponseEntity<String>> rejected = call(client, 5);
+		assertEquals(callsBeforeOpen, auditCalls.get());
+		assertTrue(rejected.stream().allMatch(response ->
+				response.getStatusCode() == HttpStatus.SERVICE_UNAVAILABLE
+						&& "circuit-open".equals(response.getHeaders().getFirst(RouteGuardFilter.REJECTED_HEADER))));
+
+		// After open-duration two trial calls go through; both succeed and close the circuit
+		failing = false;
+		Mono.delay(Duration.ofMillis(600)).block();
+		List<ResponseEntity<String>> trials = call(client, 2);
+		assertTrue(trials.stream().allMatch(response -> response.getStatusCode().is2xxSuccessful()));
+		awaitCircuit("CLOSED");
+		List<ResponseEntity<String>> recovered = call(client, 3);
+		assertTrue(recovered.stream().allMatch(response -> response.getStatusCode().is2xxSuccessful()));
+		assertEquals(callsBeforeOpen + 5, auditCalls.get());
+	}
+
+	// A call's outcome is recorded when the gateway finishes the exchange, which can be just after the client
+	// has read the response
+	private void awaitCircuit(String state) {
+		long deadline = System.nanoTime() + Duration.ofSeconds(2).toNanos();
+		while (!state.equals(endpoint.route("audit").get("circuit").toString()) && System.nanoTime() < deadline) {
+			Mono.delay(Duration.ofMillis(10)).block();
+		}
+		assertEquals(state, endpoint.route("audit").get("circuit").toString());
+	}
+
+	private List<Timed> load(String path, int requests, Duration interval) {
+		ConnectionProvider connections = ConnectionProvider.builder("load")
+				.maxConnections(requests)
+				.pendingAcquireMaxCount(-1)
+				.build();
+		try {
+			WebClient client = WebClient.builder()
+					.baseUrl("http://localhost:" + port)
+					.clientConnector(new ReactorClientHttpConnector(HttpClient.create(connections)))
+					.build();
+			return Flux.interval(interval)
+					.take(requests)
+					.flatMap(i -> {
+						long start = System.nanoTime();
+						return client.get().uri(path)
+								.retrieve()
+								.onStatus(status -> true, response -> Mono.empty())
+								.toBodilessEntity()
+								.map(response -> new Timed(response.getStatusCode().value(),
+										Duration.ofNanos(System.nanoTime() - start).toMillis()));
+					}, requests)
+					.collectList()
+					.block(Duration.ofSeconds(30));
+		} finally {
+			connections.dispose();
+		}
+	}
+
+	private static long worstOk(List<Timed> responses) {
+		return responses.stream().filter(t -> t.status() == 200).mapToLong(Timed::millis).max().orElse(0);
+	}
+
+	private static List<ResponseEntity<String>> call(WebClient client, int times) {
+		return Flux.range(0, times)
+				.concatMap(i -> client.get().uri("/api/audit/events")
+						.retrieve()
+						.onStatus(status -> true, response -> Mono.empty())
+						.toEntity(String.class))
+				.collectList()
+				.block(Duration.ofSeconds(10));
+	}
+
+	private static HttpServer startStub() {
+		try {
+			HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 1000);
+			server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+			server.createContext("/api/billing", exchange -> {
+				billingPeak.accumulateAndGet(billingInFlight.incrementAndGet(), Math::max);
+				try {
+					billingWorkers.acquire();
+					try {
+						Thread.sleep(50);
+					} finally {
+						billingWorkers.release();
+					}
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				} finally {
+					billingInFlight.decrementAndGet();
+				}
+				respond(exchange, 200);
+			});
+			server.createContext("/api/audit", exchange -> {
+				int call = auditCalls.incrementAndGet();
+				if (failing && call % 2 == 0) {
+					exchange.close();
+					return;
+				}
+				respond(exchange, failing ? 500 : 200);
+			});
+			server.start();
+			return server;
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static void respond(HttpExchange exchange, int status) throws IOException {
+		byte[] body = "{}".getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().add("Content-Type", "application/json");
+		exchange.sendResponseHeaders(status, body.length);
+		try (OutputStream out = exchange.getResponseBody()) {
+			out.write(body);
+		}
+	}
+
+	private record Timed(int status, long millis) {
+	}
+}
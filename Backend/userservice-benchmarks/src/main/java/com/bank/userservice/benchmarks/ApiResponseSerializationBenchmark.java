@@ -0,0 +1,47 @@
+package com.bank.userservice.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.bank.userservice.dto.ApiResponse;
+import com.bank.userservice.dto.UserDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ApiResponseSerializationBenchmark {
+
+    @Param({ "1", "50", "500", "10000" })
+    private int listSize;
+
+    private ObjectWriter writer;
+    private ApiResponse<List<UserDTO>> response;
+
+    @Setup
+    public void setUp() {
+        writer = UserFixtures.objectMapper().writer();
+        response = ApiResponse.success(UserFixtures.dtos(listSize));
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return writer.writeValueAsBytes(response);
+    }
+}
@@ -0,0 +1,156 @@
+package com.bank.userservice.benchmarks;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import com.bank.userservice.util.TimeOrderedUuid;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Inserts user ids into an in-memory model of SQL Server's clustered primary key: fixed-capacity leaf pages
+// in uniqueidentifier sort order, split in half when full unless the insert lands past the last row
+// (which starts a new page, as SQL Server does for ascending keys).
+// Each iteration loads `rows` ids into an empty index; teardown prints page count, splits and page fill.
+// This isolates the page-split and locality cost of the key order; it does not replace a run against SQL Server.
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Thread)
+public class ClusteredIndexInsertBenchmark {
+
+    // About 30 users rows fit an 8 KB page
+    private static final int ROWS_PER_PAGE = 32;
+
+    @Param({ "random", "timeOrdered" })
+    private String idType;
+
+    @Param({ "1000000", "5000000" })
+    private int rows;
+
+    private long[] high;
+    private long[] low;
+    private ClusteredIndex index;
+
+    @Setup(Level.Trial)
+    public void generateIds() {
+        high = new long[rows];
+        low = new long[rows];
+        for (int i = 0; i < rows; i++) {
+            UUID id = idType.equals("random") ? UUID.randomUUID() : TimeOrderedUuid.next();
+            // Rearranged so unsigned comparison of (high, low) is SQL Server's uniqueidentifier order:
+            // bytes 10-15, then 8-9, then 6-7, 4-5 and 0-3
+            long lsb = id.getLeastSignificantBits();
+            long msb = id.getMostSignificantBits();
+            high[i] = (lsb << 16) | (lsb >>> 48);
+            low[i] = (msb << 48) | ((msb >>> 16) & 0xFFFF) << 32 | (msb >>> 32);
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void emptyIndex() {
+        index = new ClusteredIndex();
+    }
+
+    @TearDown(Level.Iteration)
+    public void report() {
+        System.out.printf("%n%s x %,d: %,d pages, %,d splits, %.1f%% average page fill%n",
+                idType, rows, index.pages.size(), index.splits,
+                100.0 * rows / ((long) index.pages.size() * ROWS_PER_PAGE));
+    }
+
+    @Benchmark
+    public ClusteredIndex insert() {
+        for (int i = 0; i < rows; i++) {
+            index.insert(high[i], low[i]);
+        }
+        return index;
+    }
+
+    public static class ClusteredIndex {
+
+        // Leaf pages by their first key; the first page is keyed by the lowest possible key
+        private final TreeMap<Key, Page> pages = new TreeMap<>();
+        private long splits;
+
+        ClusteredIndex() {
+            pages.put(new Key(0, 0), new Page());
+        }
+
+        void insert(long high, long low) {
+            Map.Entry<Key, Page> entry = pages.floorEntry(new Key(high, low));
+            Page page = entry.getValue();
+            int at = page.position(high, low);
+            if (page.count < ROWS_PER_PAGE) {
+                page.insert(at, high, low);
+                return;
+            }
+            Page next = new Page();
+            if (at == page.count && pages.higherKey(entry.getKey()) == null) {
+                next.insert(0, high, low);
+            } else {
+                int half = ROWS_PER_PAGE / 2;
+                System.arraycopy(page.high, half, next.high, 0, ROWS_PER_PAGE - half);
+                System.arraycopy(page.low, half, next.low, 0, ROWS_PER_PAGE - half);
+                next.count = ROWS_PER_PAGE - half;
+                page.count = half;
+                if (at <= half) {
+                    page.insert(at, high, low);
+                } else {
+                    next.insert(at - half, high, low);
+                }
+                splits++;
+            }
+            pages.put(new Key(next.high[0], next.low[0]), next);
+        }
+    }
+
+    private static final class Page {
+        private final long[] high = new long[ROWS_PER_PAGE];
+        private final long[] low = new long[ROWS_PER_PAGE];
+        private int count;
+
+        private int position(long h, long l) {
+            int i = 0;
+            while (i < count && compare(high[i], low[i], h, l) < 0) {
+                i++;
+            }
+            return i;
+        }
+
+        private void insert(int at, long h, long l) {
+            System.arraycopy(high, at, high, at + 1, count - at);
+            System.arraycopy(low, at, low, at + 1, count - at);
+            high[at] = h;
+            low[at] = l;
+            count++;
+        }
+    }
+
+    private record Key(long high, long low) implements Comparable<Key> {
+        @Override
+        public int compareTo(Key other) {
+            return compare(high, low, other.high, other.low);
+        }
+    }
+
+    private static int compare(long h1, long l1, long h2, long l2) {
+        int c = Long.compareUnsigned(h1, h2);
+        return c != 0 ? c : Long.compareUnsigned(l1, l2);
+    }
+}
@@ -0,0 +1,60 @@
+package com.bank.userservice.benchmarks;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import com.bank.userservice.entity.User;
+import com.bank.userservice.repository.UserRepository;
+
+// Hash-map stand-in for the JPA repository, covering the lookups ValidationUtil uses.
+// Everything else throws, so a benchmark never silently measures an unimplemented call.
+final class InMemoryUserRepository implements InvocationHandler {
+
+    private final Map<UUID, User> byId = new HashMap<>();
+    private final Map<String, User> byUsername = new HashMap<>();
+    private final Map<String, User> byEmail = new HashMap<>();
+
+    private InMemoryUserRepository() {
+    }
+
+    static UserRepository withUsers(int count) {
+        InMemoryUserRepository store = new InMemoryUserRepository();
+        for (int i = 0; i < count; i++) {
+            User user = UserFixtures.user(i);
+            store.byId.put(user.getId(), user);
+            store.byUsername.put(user.getUsername(), user);
+            store.byEmail.put(user.getEmail(), user);
+        }
+        return (UserRepository) Proxy.newProxyInstance(UserRepository.class.getClassLoader(),
+                new Class<?>[] { UserRepository.class }, store);
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) {
+        switch (method.getName()) {
+            case "existsById":
+                return byId.containsKey(args[0]);
+            case "existsByUsername":
+                return byUsername.containsKey(args[0]);
+            case "existsByEmail":
+                return byEmail.containsKey(args[0]);
+            case "findByUsername":
+                return Optional.ofNullable(byUsername.get(args[0]));
+            case "findByEmail":
+                return Optional.ofNullable(byEmail.get(args[0]));
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "equals":
+                return proxy == args[0];
+            case "toString":
+                return "InMemoryUserRepository[" + byId.size() + " users]";
+            default:
+                throw new UnsupportedOperationException(method.getName());
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.bank.userservice.benchmarks;
+
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import com.bank.userservice.util.TrigramIndex;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Lookup latency of the user search index at production scale; setup prints the estimated heap footprint
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+@State(Scope.Benchmark)
+public class TrigramIndexBenchmark {
+
+    private static final String[] DOMAINS = { "gmail.com", "yahoo.com", "outlook.com", "hospital.org", "bloodbank.in" };
+
+    @Param({ "1000000" })
+    private int users;
+
+    private TrigramIndex index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        index = new TrigramIndex(3, users);
+        for (int i = 0; i < users; i++) {
+            String username = "donor" + Integer.toString(random.nextInt(Integer.MAX_VALUE), 36) + i;
+            index.add(UUID.randomUUID(),
+                    username,
+                    username + "@" + DOMAINS[i % DOMAINS.length],
+                    String.format("9%09d", random.nextInt(1_000_000_000)));
+        }
+        index.trimToSize();
+        System.out.printf("%n%d users, %d trigrams, ~%d MB estimated%n",
+                index.size(), index.getTrigramCount(), index.getEstimatedSizeInBytes() / (1024 * 1024));
+    }
+
+    // Selective substring: a handful of candidates after intersection
+    @Benchmark
+    public TrigramIndex.Result substring() {
+        return index.search("4242", 1000);
+    }
+
+    // Two-character prefix: one posting list, most entries rejected by verification
+    @Benchmark
+    public TrigramIndex.Result shortPrefix() {
+        return index.search("do", 1000);
+    }
+
+    // Unselective query: stops at the match cap and reports truncation
+    @Benchmark
+    public TrigramIndex.Result commonDomain() {
+        return index.search("hospital", 1000);
+    }
+
+    @Benchmark
+    public TrigramIndex.Result miss() {
+        return index.search("zzqx", 1000);
+    }
+}
@@ -0,0 +1,57 @@
+package com.bank.userservice.benchmarks;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import com.bank.userservice.dto.UserDTO;
+import com.bank.userservice.entity.User;
+import com.bank.userservice.entity.UserRole;
+import com.bank.userservice.entity.UserStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+final class UserFixtures {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2025, 1, 15, 10, 30);
+
+    private UserFixtures() {
+    }
+
+    static User user(int i) {
+        User user = new User("donor" + i, "donor" + i + "@example.com",
+                "$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z0WaMvTY8kU0dWq1tpWkwR2a",
+                String.format("98%08d", i), UserRole.DONOR);
+        user.setId(new UUID(0x0123456789abcdefL, i));
+        user.setCreatedAt(CREATED_AT);
+        user.setUpdatedAt(CREATED_AT.plusMinutes(i % 60));
+        return user;
+    }
+
+    static UserDTO dto(int i) {
+        User user = user(i);
+        return new UserDTO(user.getId(), user.getUsername(), user.getEmail(), user.getPhoneNumber(),
+                user.getRole(), UserStatus.ACTIVE, user.getCreatedAt(), user.getUpdatedAt());
+    }
+
+    static List<UserDTO> dtos(int count) {
+        List<UserDTO> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            users.add(dto(i));
+        }
+        return users;
+    }
+
+    // Same defaults Spring Boot applies to the application's ObjectMapper, including the empty filter
+    // provider that lets UserDTO's sparse-fieldset filter default to writing every property
+    static ObjectMapper objectMapper() {
+        return builder().build();
+    }
+
+    static Jackson2ObjectMapperBuilder builder() {
+        return Jackson2ObjectMapperBuilder.json().filters(new SimpleFilterProvider().setFailOnUnknownId(false));
+    }
+}
@@ -0,0 +1,54 @@
+package com.bank.userservice.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import com.bank.userservice.dto.UpdateUserRequest;
+import com.bank.userservice.dto.UserDTO;
+import com.bank.userservice.entity.User;
+import com.bank.userservice.entity.UserStatus;
+import com.bank.userservice.mapper.UserMapper;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class UserMapperBenchmark {
+
+    private UserMapper mapper;
+    private User user;
+    private UpdateUserRequest request;
+
+    @Setup
+    public void setUp() {
+        mapper = new UserMapper();
+        user = UserFixtures.user(42);
+        request = new UpdateUserRequest();
+        request.setEmail("donor42.new@example.com");
+        request.setPhoneNumber("9800000042");
+        request.setStatus(UserStatus.INACTIVE);
+    }
+
+    @Benchmark
+    public UserDTO toDto() {
+        return mapper.toDto(user);
+    }
+
+    @Benchmark
+    public User updateEntityFromDto() {
+        mapper.updateEntityFromDto(request, user);
+        return user;
+    }
+}
@@ -0,0 +1,71 @@
+package com.bank.userservice.benchmarks;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import com.bank.userservice.dto.ApiResponse;
+import com.bank.userservice.dto.CursorPage;
+import com.bank.userservice.dto.UserDTO;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// A 10k-user page as GET /api/users writes it, per response format and fieldset.
+// The payload size of each combination is printed once per fork.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class UserPageFormatBenchmark {
+
+    private static final int PAGE_SIZE = 10_000;
+
+    @Param({ "json", "smile", "cbor" })
+    private String format;
+
+    // "all" writes every UserDTO property, as without fields=
+    @Param({ "all", "id,username" })
+    private String fields;
+
+    private ObjectWriter writer;
+    private ApiResponse<CursorPage<UserDTO>> response;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        JsonFactory factory = switch (format) {
+            case "smile" -> new SmileFactory();
+            case "cbor" -> new CBORFactory();
+            default -> new JsonFactory();
+        };
+        writer = UserFixtures.builder().factory(factory).build().writer();
+        if (!fields.equals("all")) {
+            writer = writer.with(new SimpleFilterProvider().addFilter(UserDTO.FIELDS_FILTER,
+                    SimpleBeanPropertyFilter.filterOutAllExcept(Set.of(fields.split(",")))));
+        }
+        response = ApiResponse.success(new CursorPage<>(UserFixtures.dtos(PAGE_SIZE), "next-cursor", PAGE_SIZE));
+        System.out.printf("%n%s fields=%s: %,d bytes%n", format, fields, writer.writeValueAsBytes(response).length);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return writer.writeValueAsBytes(response);
+    }
+}
@@ -0,0 +1,76 @@
+package com.bank.userservice.benchmarks;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import com.bank.userservice.exception.UserAlreadyExistsException;
+import com.bank.userservice.util.ValidationUtil;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+// Measures the validation logic itself; the repository is an in-memory stand-in,
+// so database round trips are deliberately excluded
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ValidationUtilBenchmark {
+
+    private static final int USERS = 100_000;
+
+    private ValidationUtil validationUtil;
+    private UUID existingId;
+    private UUID otherId;
+
+    @Setup
+    public void setUp() {
+        validationUtil = new ValidationUtil(InMemoryUserRepository.withUsers(USERS));
+        existingId = UserFixtures.user(42).getId();
+        otherId = UserFixtures.user(43).getId();
+    }
+
+    @Benchmark
+    public void validateUserExists() {
+        validationUtil.validateUserExists(existingId);
+    }
+
+    @Benchmark
+    public void validateEmailNotTakenFree() {
+        validationUtil.validateEmailNotTaken("new.donor@example.com");
+    }
+
+    @Benchmark
+    public void validateEmailNotTakenTaken(Blackhole blackhole) {
+        try {
+            validationUtil.validateEmailNotTaken("donor42@example.com");
+        } catch (UserAlreadyExistsException e) {
+            blackhole.consume(e);
+        }
+    }
+
+    @Benchmark
+    public void validateUsernameNotTakenByOthersSelf() {
+        validationUtil.validateUsernameNotTakenByOthers(existingId, "donor42");
+    }
+
+    @Benchmark
+    public void validateEmailNotTakenByOthersConflict(Blackhole blackhole) {
+        try {
+            validationUtil.validateEmailNotTakenByOthers(otherId, "donor42@example.com");
+        } catch (UserAlreadyExistsException e) {
+            blackhole.consume(e);
+        }
+    }
+}
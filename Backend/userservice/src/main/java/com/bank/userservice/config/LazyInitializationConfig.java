@@ -0,0 +1,24 @@
+package com.bank.userservice.config;
+
+import java.lang.reflect.Method;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.MethodIntrospector;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+
+// With spring.main.lazy-initialization (fast-start profile) beans are created when a request first needs them.
+// Beans with @Scheduled methods are still created at startup, since nothing else would ever create them.
+@Configuration
+public class LazyInitializationConfig {
+
+    // Static: the filter is consulted by a BeanFactoryPostProcessor, before regular beans exist
+    @Bean
+    static LazyInitializationExcludeFilter scheduledTasksExcludeFilter() {
+        return (beanName, beanDefinition, beanType) -> !MethodIntrospector.selectMethods(beanType,
+                (MethodIntrospector.MetadataLookup<Scheduled>) (Method method) ->
+                        AnnotatedElementUtils.findMergedAnnotation(method, Scheduled.class)).isEmpty();
+    }
+}
@@ -0,0 +1,64 @@
+package com.bank.userservice.controller;
+
+import com.bank.userservice.dto.UserDTO;
+import com.bank.userservice.exception.BadRequestException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.AbstractMappingJacksonResponseBodyAdvice;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// ?fields=id,username limits every UserDTO in the response, in any Jackson format, to the listed properties
+@RestControllerAdvice
+public class SparseFieldsAdvice extends AbstractMappingJacksonResponseBodyAdvice {
+
+    public static final String FIELDS_PARAMETER = "fields";
+
+    private final Set<String> userFields;
+
+    public SparseFieldsAdvice(ObjectMapper objectMapper) {
+        this.userFields = objectMapper.getSerializationConfig()
+                .introspect(objectMapper.constructType(UserDTO.class))
+                .findProperties().stream()
+                .map(BeanPropertyDefinition::getName)
+                .collect(Collectors.toSet());
+    }
+
+    @Override
+    protected void beforeBodyWriteInternal(MappingJacksonValue bodyContainer, MediaType contentType,
+            MethodParameter returnType, ServerHttpRequest request, ServerHttpResponse response) {
+        // Error bodies are written in full
+        if (returnType.hasMethodAnnotation(ExceptionHandler.class)
+                || !(request instanceof ServletServerHttpRequest servletRequest)) {
+            return;
+        }
+        String fields = servletRequest.getServletRequest().getParameter(FIELDS_PARAMETER);
+        if (fields == null || fields.isBlank()) {
+            return;
+        }
+
+        Set<String> requested = new LinkedHashSet<>();
+        for (String field : fields.split(",")) {
+            String name = field.strip();
+            if (!userFields.contains(name)) {
+                throw new BadRequestException("Unknown field: " + name);
+            }
+            requested.add(name);
+        }
+        bodyContainer.setFilters(new SimpleFilterProvider()
+                .addFilter(UserDTO.FIELDS_FILTER, SimpleBeanPropertyFilter.filterOutAllExcept(requested)));
+    }
+}
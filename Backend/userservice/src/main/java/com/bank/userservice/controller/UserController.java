@@ -1,26 +1,51 @@
 package com.bank.userservice.controller;
 
 import com.bank.userservice.dto.ApiResponse;
+import com.bank.userservice.dto.BatchLookupRequest;
+import com.bank.userservice.dto.BatchLookupResult;
 import com.bank.userservice.dto.CreateUserRequest;
+import com.bank.userservice.dto.CursorPage;
+import com.bank.userservice.dto.SearchPage;
 import com.bank.userservice.dto.UpdateUserRequest;
+import com.bank.userservice.dto.UserChange;
 import com.bank.userservice.dto.UserDTO;
 import com.bank.userservice.entity.UserRole;
+import com.bank.userservice.service.UserImportService;
 import com.bank.userservice.service.UserService;
+import com.bank.userservice.util.ETagUtil;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
-import java.util.List;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 @RestController
 @RequestMapping("/api/users")
 public class UserController {    private final UserService userService;
+    private final UserImportService userImportService;
+    private final ObjectMapper objectMapper;
+    private final HttpServletRequest currentRequest;
 
-    public UserController(UserService userService) {
+    // currentRequest is Spring's proxy to the request being handled
+    public UserController(UserService userService, UserImportService userImportService, ObjectMapper objectMapper,
+            HttpServletRequest currentRequest) {
         this.userService = userService;
+        this.userImportService = userImportService;
+        this.objectMapper = objectMapper;
+        this.currentRequest = currentRequest;
     }
 
     @PostMapping
@@ -30,34 +55,109 @@ public class UserController {    private final UserService userService;
                 .body(ApiResponse.success("User created successfully", createdUser));
     }
 
+    @PostMapping(value = "/import",
+            consumes = { MediaType.APPLICATION_NDJSON_VALUE, "text/csv" },
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void importUsers(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        UserImportService.Format format = MediaType.parseMediaType(request.getContentType())
+                .isCompatibleWith(MediaType.valueOf("text/csv"))
+                ? UserImportService.Format.CSV
+                : UserImportService.Format.NDJSON;
+        
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        // Per-row outcomes are streamed back as each batch is written
+        try (SequenceWriter writer = objectMapper.writer()
+                .withRootValueSeparator("\n")
+                .writeValues(response.getOutputStream())) {
+            userImportService.importUsers(request.getInputStream(), format, result -> {
+                try {
+                    writer.write(result);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponse<UserDTO>> getUserById(@PathVariable UUID id) {
         UserDTO user = userService.getUserById(id);
-        return ResponseEntity.ok(ApiResponse.success(user));
+        return conditional(ApiResponse.success(user), ETagUtil.of(user), ETagUtil.lastModified(user));
+    }
+
+    // POST because hundreds of ids do not fit in a URL
+    @PostMapping("/batch")
+    public ResponseEntity<ApiResponse<BatchLookupResult>> lookupUsers(@RequestBody BatchLookupRequest request) {
+        BatchLookupResult users = userService.lookupUsers(request.getIds(), request.getUsernames());
+        return ResponseEntity.ok(ApiResponse.success(users));
     }
 
     @GetMapping("/username/{username}")
     public ResponseEntity<ApiResponse<UserDTO>> getUserByUsername(@PathVariable String username) {
         UserDTO user = userService.getUserByUsername(username);
-        return ResponseEntity.ok(ApiResponse.success(user));
+        return conditional(ApiResponse.success(user), ETagUtil.of(user), ETagUtil.lastModified(user));
     }
 
     @GetMapping("/email/{email}")
     public ResponseEntity<ApiResponse<UserDTO>> getUserByEmail(@PathVariable String email) {
         UserDTO user = userService.getUserByEmail(email);
-        return ResponseEntity.ok(ApiResponse.success(user));
+        return conditional(ApiResponse.success(user), ETagUtil.of(user), ETagUtil.lastModified(user));
     }
 
     @GetMapping
-    public ResponseEntity<ApiResponse<List<UserDTO>>> getAllUsers() {
-        List<UserDTO> users = userService.getAllUsers();
-        return ResponseEntity.ok(ApiResponse.success(users));
+    public ResponseEntity<ApiResponse<CursorPage<UserDTO>>> getUsers(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        CursorPage<UserDTO> users = userService.getUsers(cursor, size);
+        return conditional(ApiResponse.success(users),
+                ETagUtil.of(users.getContent(), users.getNextCursor()));
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void streamUsers(HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        // One JSON document per line, written as rows come off the JDBC cursor
+        try (SequenceWriter writer = objectMapper.writer()
+                .withRootValueSeparator("\n")
+                .writeValues(response.getOutputStream())) {
+            userService.streamAllUsers(user -> {
+                try {
+                    writer.write(user);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
     }
 
     @GetMapping("/role/{role}")
-    public ResponseEntity<ApiResponse<List<UserDTO>>> getUsersByRole(@PathVariable UserRole role) {
-        List<UserDTO> users = userService.getUsersByRole(role);
-        return ResponseEntity.ok(ApiResponse.success(users));
+    public ResponseEntity<ApiResponse<CursorPage<UserDTO>>> getUsersByRole(
+            @PathVariable UserRole role,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        CursorPage<UserDTO> users = userService.getUsersByRole(role, cursor, size);
+        return conditional(ApiResponse.success(users),
+                ETagUtil.of(users.getContent(), users.getNextCursor()));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<ApiResponse<SearchPage<UserDTO>>> searchUsers(
+            @RequestParam("q") String query,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size) {
+        SearchPage<UserDTO> users = userService.searchUsers(query, page, size);
+        return conditional(ApiResponse.success(users),
+                ETagUtil.of(users.getContent(), users.getTotalMatches(), users.isTruncated()));
+    }
+
+    // Replicas keep the returned nextCursor and poll with it; since is only needed for the first call
+    @GetMapping("/changes")
+    public ResponseEntity<ApiResponse<CursorPage<UserChange>>> getChanges(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        CursorPage<UserChange> changes = userService.getChanges(since, cursor, size);
+        return ResponseEntity.ok(ApiResponse.success(changes));
     }
 
     @PutMapping("/{id}")
@@ -74,6 +174,12 @@ public class UserController {    private final UserService userService;
         return ResponseEntity.ok(ApiResponse.success("User deleted successfully", null));
     }
 
+    @PostMapping("/{id}/restore")
+    public ResponseEntity<ApiResponse<UserDTO>> restoreUser(@PathVariable UUID id) {
+        UserDTO restoredUser = userService.restoreUser(id);
+        return ResponseEntity.ok(ApiResponse.success("User restored successfully", restoredUser));
+    }
+
     @GetMapping("/check/username/{username}")
     public ResponseEntity<ApiResponse<Boolean>> checkUsernameExists(@PathVariable String username) {
         boolean exists = userService.existsByUsername(username);
@@ -85,4 +191,20 @@ public class UserController {    private final UserService userService;
         boolean exists = userService.existsByEmail(email);
         return ResponseEntity.ok(ApiResponse.success(exists));
     }
+
+    // Spring answers 304 without a body when If-None-Match or If-Modified-Since still matches
+    // Collections: a user dropping out of a list does not move the newest updatedAt, so only the ETag validates
+    private <T> ResponseEntity<T> conditional(T body, String eTag) {
+        return conditional(body, eTag, -1);
+    }
+
+    private <T> ResponseEntity<T> conditional(T body, String eTag, long lastModified) {
+        String variantETag = ETagUtil.forVariant(eTag, currentRequest.getHeader(HttpHeaders.ACCEPT),
+                currentRequest.getParameter(SparseFieldsAdvice.FIELDS_PARAMETER));
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().eTag(variantETag).varyBy(HttpHeaders.ACCEPT);
+        if (lastModified >= 0) {
+            response.lastModified(lastModified);
+        }
+        return response.body(body);
+    }
 }
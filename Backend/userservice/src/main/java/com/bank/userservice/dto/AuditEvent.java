@@ -0,0 +1,75 @@
+package com.bank.userservice.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public class AuditEvent {
+    private UUID userId;
+    private String actionType;
+    private String entityType;
+    private String entityId;
+    private String description;
+    private LocalDateTime timestamp;
+    
+    // Constructors
+    public AuditEvent() {
+    }
+    
+    public AuditEvent(UUID userId, String actionType, String entityType, String entityId, String description) {
+        this.userId = userId;
+        this.actionType = actionType;
+        this.entityType = entityType;
+        this.entityId = entityId;
+        this.description = description;
+        this.timestamp = LocalDateTime.now();
+    }
+    
+    // Getters and Setters
+    public UUID getUserId() {
+        return userId;
+    }
+    
+    public void setUserId(UUID userId) {
+        this.userId = userId;
+    }
+    
+    public String getActionType() {
+        return actionType;
+    }
+    
+    public void setActionType(String actionType) {
+        this.actionType = actionType;
+    }
+    
+    public String getEntityType() {
+        return entityType;
+    }
+    
+    public void setEntityType(String entityType) {
+        this.entityType = entityType;
+    }
+    
+    public String getEntityId() {
+        return entityId;
+    }
+    
+    public void setEntityId(String entityId) {
+        this.entityId = entityId;
+    }
+    
+    public String getDescription() {
+        return description;
+    }
+    
+    public void setDescription(String description) {
+        this.description = description;
+    }
+    
+    public LocalDateTime getTimestamp() {
+        return timestamp;
+    }
+    
+    public void setTimestamp(LocalDateTime timestamp) {
+        this.timestamp = timestamp;
+    }
+}
@@ -0,0 +1,35 @@
+package com.bank.userservice.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+public class BatchLookupRequest {
+    private List<UUID> ids;
+    private List<String> usernames;
+    
+    // Constructors
+    public BatchLookupRequest() {
+    }
+    
+    public BatchLookupRequest(List<UUID> ids, List<String> usernames) {
+        this.ids = ids;
+        this.usernames = usernames;
+    }
+    
+    // Getters and Setters
+    public List<UUID> getIds() {
+        return ids;
+    }
+    
+    public void setIds(List<UUID> ids) {
+        this.ids = ids;
+    }
+    
+    public List<String> getUsernames() {
+        return usernames;
+    }
+    
+    public void setUsernames(List<String> usernames) {
+        this.usernames = usernames;
+    }
+}
@@ -0,0 +1,57 @@
+package com.bank.userservice.dto;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+public class BatchLookupResult {
+    private Map<UUID, UserDTO> users;
+    private List<UUID> notFound;
+    private Map<String, UserDTO> usernames;
+    private List<String> notFoundUsernames;
+    
+    // Constructors
+    public BatchLookupResult() {
+    }
+    
+    public BatchLookupResult(Map<UUID, UserDTO> users, List<UUID> notFound,
+                             Map<String, UserDTO> usernames, List<String> notFoundUsernames) {
+        this.users = users;
+        this.notFound = notFound;
+        this.usernames = usernames;
+        this.notFoundUsernames = notFoundUsernames;
+    }
+    
+    // Getters and Setters
+    public Map<UUID, UserDTO> getUsers() {
+        return users;
+    }
+    
+    public void setUsers(Map<UUID, UserDTO> users) {
+        this.users = users;
+    }
+    
+    public List<UUID> getNotFound() {
+        return notFound;
+    }
+    
+    public void setNotFound(List<UUID> notFound) {
+        this.notFound = notFound;
+    }
+    
+    public Map<String, UserDTO> getUsernames() {
+        return usernames;
+    }
+    
+    public void setUsernames(Map<String, UserDTO> usernames) {
+        this.usernames = usernames;
+    }
+    
+    public List<String> getNotFoundUsernames() {
+        return notFoundUsernames;
+    }
+    
+    public void setNotFoundUsernames(List<String> notFoundUsernames) {
+        this.notFoundUsernames = notFoundUsernames;
+    }
+}
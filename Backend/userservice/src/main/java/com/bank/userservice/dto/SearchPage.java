@@ -0,0 +1,64 @@
+package com.bank.userservice.dto;
+
+import java.util.List;
+
+public class SearchPage<T> {
+    private List<T> content;
+    private int page;
+    private int size;
+    private int totalMatches;
+    private boolean truncated;
+
+    // Constructors
+    public SearchPage() {
+    }
+
+    public SearchPage(List<T> content, int page, int size, int totalMatches, boolean truncated) {
+        this.content = content;
+        this.page = page;
+        this.size = size;
+        this.totalMatches = totalMatches;
+        this.truncated = truncated;
+    }
+
+    // Getters and Setters
+    public List<T> getContent() {
+        return content;
+    }
+
+    public void setContent(List<T> content) {
+        this.content = content;
+    }
+
+    public int getPage() {
+        return page;
+    }
+
+    public void setPage(int page) {
+        this.page = page;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public int getTotalMatches() {
+        return totalMatches;
+    }
+
+    public void setTotalMatches(int totalMatches) {
+        this.totalMatches = totalMatches;
+    }
+
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    public void setTruncated(boolean truncated) {
+        this.truncated = truncated;
+    }
+}
@@ -0,0 +1,45 @@
+package com.bank.userservice.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import com.bank.userservice.entity.UserRole;
+import com.bank.userservice.entity.UserStatus;
+
+public class UserChange {
+    private UserDTO user;
+    private boolean deleted;
+    
+    // Constructors
+    public UserChange() {
+    }
+    
+    public UserChange(UserDTO user, boolean deleted) {
+        this.user = user;
+        this.deleted = deleted;
+    }
+    
+    // JPQL constructor expression
+    public UserChange(UUID id, String username, String email, String phoneNumber, 
+                      UserRole role, UserStatus status, LocalDateTime createdAt, LocalDateTime updatedAt,
+                      boolean deleted) {
+        this(new UserDTO(id, username, email, phoneNumber, role, status, createdAt, updatedAt), deleted);
+    }
+    
+    // Getters and Setters
+    public UserDTO getUser() {
+        return user;
+    }
+    
+    public void setUser(UserDTO user) {
+        this.user = user;
+    }
+    
+    public boolean isDeleted() {
+        return deleted;
+    }
+    
+    public void setDeleted(boolean deleted) {
+        this.deleted = deleted;
+    }
+}
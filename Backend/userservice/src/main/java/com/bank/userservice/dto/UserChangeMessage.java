@@ -0,0 +1,68 @@
+package com.bank.userservice.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import com.bank.userservice.event.UserChangedEvent;
+
+public class UserChangeMessage {
+    private long sequence;
+    private UserChangedEvent.ChangeType type;
+    private UUID userId;
+    private UserDTO user;
+    private LocalDateTime occurredAt;
+    
+    // Constructors
+    public UserChangeMessage() {
+    }
+    
+    public UserChangeMessage(long sequence, UserChangedEvent.ChangeType type, UUID userId, UserDTO user,
+                             LocalDateTime occurredAt) {
+        this.sequence = sequence;
+        this.type = type;
+        this.userId = userId;
+        this.user = user;
+        this.occurredAt = occurredAt;
+    }
+    
+    // Getters and Setters
+    public long getSequence() {
+        return sequence;
+    }
+    
+    public void setSequence(long sequence) {
+        this.sequence = sequence;
+    }
+    
+    public UserChangedEvent.ChangeType getType() {
+        return type;
+    }
+    
+    public void setType(UserChangedEvent.ChangeType type) {
+        this.type = type;
+    }
+    
+    public UUID getUserId() {
+        return userId;
+    }
+    
+    public void setUserId(UUID userId) {
+        this.userId = userId;
+    }
+    
+    public UserDTO getUser() {
+        return user;
+    }
+    
+    public void setUser(UserDTO user) {
+        this.user = user;
+    }
+    
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+    
+    public void setOccurredAt(LocalDateTime occurredAt) {
+        this.occurredAt = occurredAt;
+    }
+}
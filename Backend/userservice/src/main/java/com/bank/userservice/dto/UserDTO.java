@@ -5,8 +5,13 @@ import java.util.UUID;
 
 import com.bank.userservice.entity.UserRole;
 import com.bank.userservice.entity.UserStatus;
+import com.fasterxml.jackson.annotation.JsonFilter;
 
+// The filter only takes effect when a request asks for a sparse fieldset (fields=)
+@JsonFilter(UserDTO.FIELDS_FILTER)
 public class UserDTO {
+    public static final String FIELDS_FILTER = "userFields";
+    
     private UUID id;
     private String username;
     private String email;
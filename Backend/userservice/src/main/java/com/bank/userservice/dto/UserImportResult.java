@@ -0,0 +1,70 @@
+package com.bank.userservice.dto;
+
+import java.util.UUID;
+
+public class UserImportResult {
+
+    public enum Status {
+        CREATED,
+        INVALID,
+        DUPLICATE,
+        FAILED
+    }
+
+    private long row;
+    private Status status;
+    private UUID userId;
+    private String message;
+    
+    // Constructors
+    public UserImportResult() {
+    }
+    
+    public UserImportResult(long row, Status status, UUID userId, String message) {
+        this.row = row;
+        this.status = status;
+        this.userId = userId;
+        this.message = message;
+    }
+    
+    public static UserImportResult created(long row, UUID userId) {
+        return new UserImportResult(row, Status.CREATED, userId, null);
+    }
+    
+    public static UserImportResult rejected(long row, Status status, String message) {
+        return new UserImportResult(row, status, null, message);
+    }
+    
+    // Getters and Setters
+    public long getRow() {
+        return row;
+    }
+    
+    public void setRow(long row) {
+        this.row = row;
+    }
+    
+    public Status getStatus() {
+        return status;
+    }
+    
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+    
+    public UUID getUserId() {
+        return userId;
+    }
+    
+    public void setUserId(UUID userId) {
+        this.userId = userId;
+    }
+    
+    public String getMessage() {
+        return message;
+    }
+    
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
@@ -0,0 +1,94 @@
+package com.bank.userservice.entity;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import com.bank.userservice.event.UserChangedEvent;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+
+// One row per committed user change, written in the same transaction as the change itself
+@Entity
+@Table(name = "user_outbox")
+public class UserOutboxEvent {
+    
+    // Identity order is the publish order
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false)
+    private UserChangedEvent.ChangeType eventType;
+    
+    // UserDTO as JSON
+    @Lob
+    @Column(nullable = false)
+    private String payload;
+    
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+    
+    // Constructors
+    public UserOutboxEvent() {
+    }
+    
+    public UserOutboxEvent(UUID userId, UserChangedEvent.ChangeType eventType, String payload) {
+        this.userId = userId;
+        this.eventType = eventType;
+        this.payload = payload;
+        this.createdAt = LocalDateTime.now();
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public UUID getUserId() {
+        return userId;
+    }
+    
+    public void setUserId(UUID userId) {
+        this.userId = userId;
+    }
+    
+    public UserChangedEvent.ChangeType getEventType() {
+        return eventType;
+    }
+    
+    public void setEventType(UserChangedEvent.ChangeType eventType) {
+        this.eventType = eventType;
+    }
+    
+    public String getPayload() {
+        return payload;
+    }
+    
+    public void setPayload(String payload) {
+        this.payload = payload;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,35 @@
+package com.bank.userservice.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+// Lease row: the relay that holds its lock is the only one publishing, which keeps the feed in id order
+@Entity
+@Table(name = "user_outbox_lock")
+public class UserOutboxLock {
+    
+    public static final String RELAY = "relay";
+    
+    @Id
+    @Column(length = 50)
+    private String name;
+    
+    // Constructors
+    public UserOutboxLock() {
+    }
+    
+    public UserOutboxLock(String name) {
+        this.name = name;
+    }
+    
+    // Getters and Setters
+    public String getName() {
+        return name;
+    }
+    
+    public void setName(String name) {
+        this.name = name;
+    }
+}
@@ -0,0 +1,47 @@
+package com.bank.userservice.event;
+
+import com.bank.userservice.dto.UserDTO;
+
+public class UserChangedEvent {
+
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    private final ChangeType type;
+    private final UserDTO previous;
+    private final UserDTO current;
+
+    // previous is null for CREATED; current is the soft-deleted state for DELETED
+    public UserChangedEvent(ChangeType type, UserDTO previous, UserDTO current) {
+        this.type = type;
+        this.previous = previous;
+        this.current = current;
+    }
+
+    public static UserChangedEvent created(UserDTO user) {
+        return new UserChangedEvent(ChangeType.CREATED, null, user);
+    }
+
+    public static UserChangedEvent updated(UserDTO previous, UserDTO current) {
+        return new UserChangedEvent(ChangeType.UPDATED, previous, current);
+    }
+
+    public static UserChangedEvent deleted(UserDTO previous, UserDTO current) {
+        return new UserChangedEvent(ChangeType.DELETED, previous, current);
+    }
+
+    public ChangeType getType() {
+        return type;
+    }
+
+    public UserDTO getPrevious() {
+        return previous;
+    }
+
+    public UserDTO getCurrent() {
+        return current;
+    }
+}
@@ -0,0 +1,12 @@
+package com.bank.userservice.exception;
+
+public class InvalidCredentialsException extends RuntimeException {
+    
+    public InvalidCredentialsException(String message) {
+        super(message);
+    }
+    
+    public InvalidCredentialsException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,12 @@
+package com.bank.userservice.exception;
+
+public class ServiceBusyException extends RuntimeException {
+    
+    public ServiceBusyException(String message) {
+        super(message);
+    }
+    
+    public ServiceBusyException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
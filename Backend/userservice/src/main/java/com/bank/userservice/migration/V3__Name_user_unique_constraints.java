@@ -0,0 +1,71 @@
+package com.bank.userservice.migration;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import com.bank.userservice.entity.User;
+
+// Gives the username and email unique constraints the names UserServiceImpl maps duplicate-key errors by.
+// Their current names were generated by Hibernate or the database and differ between installations, so they
+// are looked up in INFORMATION_SCHEMA (SQL Server and H2 both provide it) rather than written into a script.
+public class V3__Name_user_unique_constraints extends BaseJavaMigration {
+    
+    private static final String SINGLE_COLUMN_UNIQUE_CONSTRAINTS = """
+            SELECT tc.CONSTRAINT_NAME
+            FROM INFORMATION_SCHEMA.TABLE_CONSTRAINTS tc
+            JOIN INFORMATION_SCHEMA.KEY_COLUMN_USAGE kcu
+              ON kcu.CONSTRAINT_SCHEMA = tc.CONSTRAINT_SCHEMA AND kcu.CONSTRAINT_NAME = tc.CONSTRAINT_NAME
+            WHERE tc.CONSTRAINT_TYPE = 'UNIQUE'
+              AND UPPER(tc.TABLE_NAME) = 'USERS'
+              AND UPPER(tc.TABLE_SCHEMA) = UPPER(?)
+              AND UPPER(kcu.COLUMN_NAME) = UPPER(?)
+              AND NOT EXISTS (
+                  SELECT 1 FROM INFORMATION_SCHEMA.KEY_COLUMN_USAGE other
+                  WHERE other.CONSTRAINT_SCHEMA = tc.CONSTRAINT_SCHEMA
+                    AND other.CONSTRAINT_NAME = tc.CONSTRAINT_NAME
+                    AND UPPER(other.COLUMN_NAME) <> UPPER(?))
+            """;
+    
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        name(connection, "username", User.USERNAME_CONSTRAINT);
+        name(connection, "email", User.EMAIL_CONSTRAINT);
+    }
+    
+    private static void name(Connection connection, String column, String constraintName) throws SQLException {
+        List<String> existing = uniqueConstraintsOn(connection, column);
+        if (existing.stream().anyMatch(constraintName::equalsIgnoreCase)) {
+            return;
+        }
+        try (Statement statement = connection.createStatement()) {
+            for (String name : existing) {
+                statement.execute("ALTER TABLE users DROP CONSTRAINT \"" + name.replace("\"", "\"\"") + "\"");
+            }
+            statement.execute("ALTER TABLE users ADD CONSTRAINT " + constraintName + " UNIQUE (" + column + ")");
+        }
+    }
+    
+    private static List<String> uniqueConstraintsOn(Connection connection, String column) throws SQLException {
+        List<String> names = new ArrayList<>();
+        try (PreparedStatement query = connection.prepareStatement(SINGLE_COLUMN_UNIQUE_CONSTRAINTS)) {
+            query.setString(1, connection.getSchema());
+            query.setString(2, column);
+            query.setString(3, column);
+            try (ResultSet rows = query.executeQuery()) {
+                while (rows.next()) {
+                    names.add(rows.getString(1));
+                }
+            }
+        }
+        return names;
+    }
+}
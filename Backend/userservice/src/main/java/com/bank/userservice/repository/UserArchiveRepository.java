@@ -0,0 +1,12 @@
+package com.bank.userservice.repository;
+
+import com.bank.userservice.entity.UserArchive;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface UserArchiveRepository extends JpaRepository<UserArchive, UUID> {
+}
@@ -0,0 +1,9 @@
+package com.bank.userservice.repository;
+
+public interface UserIdentityView {
+    
+    String getUsername();
+    
+    String getEmail();
+    
+}
@@ -0,0 +1,34 @@
+package com.bank.userservice.repository;
+
+import com.bank.userservice.entity.UserOutboxEvent;
+import com.bank.userservice.entity.UserOutboxLock;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface UserOutboxRepository extends JpaRepository<UserOutboxEvent, Long> {
+    
+    // Empty while another replica holds the lease (lock timeout -2 = SKIP LOCKED / READPAST); held until commit
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT l FROM UserOutboxLock l WHERE l.name = :name")
+    Optional<UserOutboxLock> tryAcquireLease(@Param("name") String name);
+    
+    // Oldest first, nothing skipped: only the lease holder reads, and a row still being inserted is waited for
+    // rather than published after the rows behind it. That wait needs a locking read: under
+    // READ_COMMITTED_SNAPSHOT a plain read skips the uncommitted lower id, so READCOMMITTEDLOCK forces one
+    @Query(value = "SELECT e.* FROM user_outbox e WITH (READCOMMITTEDLOCK) ORDER BY e.id", nativeQuery = true)
+    List<UserOutboxEvent> findNextBatch(Pageable pageable);
+}
@@ -1,27 +1,179 @@
 package com.bank.userservice.repository;
 
+import com.bank.userservice.dto.UserChange;
+import com.bank.userservice.dto.UserDTO;
 import com.bank.userservice.entity.User;
+import com.bank.userservice.entity.UserRole;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, UUID> {
     
+    // Read paths select only the DTO columns: no password hash, no managed entity, no dirty-checking snapshot
+    String DTO_SELECT = "SELECT new com.bank.userservice.dto.UserDTO(u.id, u.username, u.email, u.phoneNumber, "
+            + "u.role, u.status, u.createdAt, u.updatedAt) ";
+    
     Optional<User> findByUsername(String username);
     
     Optional<User> findByEmail(String email);
     
-    Optional<User> findByUsernameAndIsDeletedFalse(String username);
+    Optional<User> findByIdAndIsDeletedFalse(UUID id);
     
-    Optional<User> findByEmailAndIsDeletedFalse(String email);
+    // Locked so a restore cannot interleave with the archiver moving the same row
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<User> findByIdAndIsDeletedTrue(UUID id);
     
-    Optional<User> findByIdAndIsDeletedFalse(UUID id);
+    @Query(DTO_SELECT + "FROM User u WHERE u.id = :id AND u.isDeleted = false")
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "MANUAL")
+    })
+    Optional<UserDTO> findDtoById(@Param("id") UUID id);
+    
+    @Query(DTO_SELECT + "FROM User u WHERE u.username = :username AND u.isDeleted = false")
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "MANUAL")
+    })
+    Optional<UserDTO> findDtoByUsername(@Param("username") String username);
+    
+    @Query(DTO_SELECT + "FROM User u WHERE u.email = :email AND u.isDeleted = false")
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "MANUAL")
+    })
+    Optional<UserDTO> findDtoByEmail(@Param("email") String email);
+    
+    // Search hits and batch lookups; callers keep the collection under SQL Server's 2100 parameter limit
+    @Query(DTO_SELECT + "FROM User u WHERE u.id IN :ids AND u.isDeleted = false")
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "MANUAL")
+    })
+    List<UserDTO> findDtosByIds(@Param("ids") Collection<UUID> ids);
+    
+    @Query(DTO_SELECT + "FROM User u WHERE u.username IN :usernames AND u.isDeleted = false")
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "MANUAL")
+    })
+    List<UserDTO> findDtosByUsernames(@Param("usernames") Collection<String> usernames);
+    
+    // Keyset pagination on (created_at, id); the caller passes size + 1 to detect a next page
+    @Query(DTO_SELECT + "FROM User u WHERE u.isDeleted = false ORDER BY u.createdAt, u.id")
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "MANUAL")
+    })
+    List<UserDTO> findFirstPage(Pageable pageable);
+    
+    @Query(DTO_SELECT + "FROM User u WHERE u.isDeleted = false "
+            + "AND (u.createdAt > :createdAt OR (u.createdAt = :createdAt AND u.id > :id)) "
+            + "ORDER BY u.createdAt, u.id")
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "MANUAL")
+    })
+    List<UserDTO> findPageAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") UUID id, Pageable pageable);
+    
+    // Role listing resolved by idx_users_role_deleted_created_at_id
+    @Query(DTO_SELECT + "FROM User u WHERE u.role = :role AND u.isDeleted = false ORDER BY u.createdAt, u.id")
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "MANUAL")
+    })
+    List<UserDTO> findFirstPageByRole(@Param("role") UserRole role, Pageable pageable);
+    
+    @Query(DTO_SELECT + "FROM User u WHERE u.role = :role AND u.isDeleted = false "
+            + "AND (u.createdAt > :createdAt OR (u.createdAt = :createdAt AND u.id > :id)) "
+            + "ORDER BY u.createdAt, u.id")
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "MANUAL")
+    })
+    List<UserDTO> findPageByRoleAfter(@Param("role") UserRole role, @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") UUID id, Pageable pageable);
+    
+    // Delta sync on (updated_at, id), soft-deleted rows included, resolved by idx_users_updated_at_id
+    @Query("SELECT new com.bank.userservice.dto.UserChange(u.id, u.username, u.email, u.phoneNumber, "
+            + "u.role, u.status, u.createdAt, u.updatedAt, u.isDeleted) "
+            + "FROM User u WHERE u.updatedAt > :since AND u.updatedAt <= :until ORDER BY u.updatedAt, u.id")
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "MANUAL")
+    })
+    List<UserChange> findChangesSince(@Param("since") LocalDateTime since, @Param("until") LocalDateTime until,
+            Pageable pageable);
+    
+    @Query("SELECT new com.bank.userservice.dto.UserChange(u.id, u.username, u.email, u.phoneNumber, "
+            + "u.role, u.status, u.createdAt, u.updatedAt, u.isDeleted) "
+            + "FROM User u WHERE (u.updatedAt > :updatedAt OR (u.updatedAt = :updatedAt AND u.id > :id)) "
+            + "AND u.updatedAt <= :until ORDER BY u.updatedAt, u.id")
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "MANUAL")
+    })
+    List<UserChange> findChangesAfter(@Param("updatedAt") LocalDateTime updatedAt, @Param("id") UUID id,
+            @Param("until") LocalDateTime until, Pageable pageable);
+    
+    // Forward-only JDBC cursor; must be consumed inside a transaction and closed
+    @Query(DTO_SELECT + "FROM User u WHERE u.isDeleted = false ORDER BY u.createdAt, u.id")
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "MANUAL")
+    })
+    Stream<UserDTO> streamAllActive();
+    
+    // Every username/email pair, including soft-deleted rows, which still hold their unique keys
+    @Query("SELECT u.username AS username, u.email AS email FROM User u")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<UserIdentityView> streamAllIdentities();
+    
+    // Set-based duplicate checks for bulk import; keep each collection under SQL Server's 2100 parameter limit
+    @Query("SELECT u.username FROM User u WHERE u.username IN :usernames")
+    List<String> findExistingUsernames(@Param("usernames") Collection<String> usernames);
+    
+    @Query("SELECT u.email FROM User u WHERE u.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+    
+    // Oldest deletions first; rows locked by another replica's archiver are skipped (lock timeout -2 = READPAST)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT u FROM User u WHERE u.isDeleted = true AND u.updatedAt < :cutoff ORDER BY u.updatedAt, u.id")
+    List<User> findArchivableBatch(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+    
+    // Moves an archived user back with its original id and created_at
+    @Modifying
+    @Query("INSERT INTO User (id, username, email, password, phoneNumber, role, status, isDeleted, createdAt, updatedAt) "
+            + "SELECT a.id, a.username, a.email, a.password, a.phoneNumber, a.role, a.status, false, a.createdAt, :now "
+            + "FROM UserArchive a WHERE a.id = :id")
+    int restoreFromArchive(@Param("id") UUID id, @Param("now") LocalDateTime now);
     
-    List<User> findByIsDeletedFalse();
+    // Replaces a hash only if it is still the one that was verified, so a concurrent password change wins.
+    // Bypasses @PreUpdate: updated_at and the change feed ignore it, as no DTO field changes.
+    @Modifying
+    @Query("UPDATE User u SET u.password = :newHash WHERE u.id = :id AND u.password = :oldHash")
+    int updatePasswordHash(@Param("id") UUID id, @Param("oldHash") String oldHash, @Param("newHash") String newHash);
     
     boolean existsByUsername(String username);
     
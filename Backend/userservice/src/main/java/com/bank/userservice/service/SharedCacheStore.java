@@ -0,0 +1,14 @@
+package com.bank.userservice.service;
+
+import java.time.Duration;
+import java.util.Optional;
+
+public interface SharedCacheStore {
+    
+    Optional<byte[]> get(String key);
+    
+    void put(String key, byte[] value, Duration ttl);
+    
+    void delete(String key);
+    
+}
@@ -0,0 +1,21 @@
+package com.bank.userservice.service;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import com.bank.userservice.dto.UserDTO;
+
+public interface UserCache {
+    
+    Optional<UserDTO> getById(UUID id);
+    
+    Optional<UserDTO> getByUsername(String username);
+    
+    Optional<UserDTO> getByEmail(String email);
+    
+    void put(UserDTO user);
+    
+    // Removes the id entry and the username/email index entries pointing at it
+    void evict(UserDTO user);
+    
+}
@@ -0,0 +1,12 @@
+package com.bank.userservice.service;
+
+import com.bank.userservice.dto.UserChangeMessage;
+
+import java.util.List;
+
+public interface UserChangePublisher {
+    
+    // Messages arrive in sequence order; throwing leaves them in the outbox for the next poll
+    void publish(List<UserChangeMessage> messages) throws Exception;
+    
+}
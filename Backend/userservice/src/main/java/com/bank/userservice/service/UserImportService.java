@@ -0,0 +1,19 @@
+package com.bank.userservice.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Consumer;
+
+import com.bank.userservice.dto.UserImportResult;
+
+public interface UserImportService {
+    
+    enum Format {
+        NDJSON,
+        CSV
+    }
+    
+    // Reads rows from the stream and reports one result per row, in row order, as chunks complete
+    void importUsers(InputStream input, Format format, Consumer<UserImportResult> results) throws IOException;
+    
+}
@@ -1,12 +1,18 @@
 package com.bank.userservice.service;
 
+import com.bank.userservice.dto.BatchLookupResult;
 import com.bank.userservice.dto.CreateUserRequest;
+import com.bank.userservice.dto.CursorPage;
+import com.bank.userservice.dto.SearchPage;
 import com.bank.userservice.dto.UpdateUserRequest;
+import com.bank.userservice.dto.UserChange;
 import com.bank.userservice.dto.UserDTO;
 import com.bank.userservice.entity.UserRole;
 
-import java.util.List;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 public interface UserService {
     
@@ -18,14 +24,26 @@ public interface UserService {
     
     UserDTO getUserByEmail(String email);
     
-    List<UserDTO> getAllUsers();
+    BatchLookupResult lookupUsers(Collection<UUID> ids, Collection<String> usernames);
     
-    List<UserDTO> getUsersByRole(UserRole role);
+    CursorPage<UserDTO> getUsers(String cursor, Integer size);
+    
+    void streamAllUsers(Consumer<UserDTO> consumer);
+    
+    CursorPage<UserDTO> getUsersByRole(UserRole role, String cursor, Integer size);
+    
+    SearchPage<UserDTO> searchUsers(String query, Integer page, Integer size);
+    
+    CursorPage<UserChange> getChanges(LocalDateTime since, String cursor, Integer size);
+    
+    UserDTO verifyCredentials(String username, String password);
     
     UserDTO updateUser(UUID id, UpdateUserRequest request);
     
     void deleteUser(UUID id);
     
+    UserDTO restoreUser(UUID id);
+    
     boolean existsByUsername(String username);
     
     boolean existsByEmail(String email);
@@ -0,0 +1,137 @@
+package com.bank.userservice.service.impl;
+
+import com.bank.userservice.dto.AuditEvent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class AuditBatchSender {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditBatchSender.class);
+
+    private final RestTemplate restTemplate;
+    private final AuditSpillFile spillFile;
+    private final BlockingQueue<AuditEvent> queue;
+    private final int flushSize;
+    private final String batchUrl;
+
+    private final Counter sentCounter;
+    private final Counter spilledCounter;
+    private final Counter droppedCounter;
+    private final Counter failedBatchCounter;
+    private final Timer sendSuccessTimer;
+    private final Timer sendFailureTimer;
+
+    public AuditBatchSender(
+            RestTemplate restTemplate,
+            AuditSpillFile spillFile,
+            MeterRegistry meterRegistry,
+            @Value("${audit.pipeline.queue-capacity:10000}") int queueCapacity,
+            @Value("${audit.pipeline.flush-size:100}") int flushSize,
+            @Value("${audit-service.batch-url:http://auditservice/api/audits/batch}") String batchUrl) {
+        this.restTemplate = restTemplate;
+        this.spillFile = spillFile;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.flushSize = flushSize;
+        this.batchUrl = batchUrl;
+
+        Gauge.builder("audit.queue.depth", queue, BlockingQueue::size)
+                .description("Audit events waiting to be sent")
+                .register(meterRegistry);
+        this.sentCounter = meterRegistry.counter("audit.events.sent");
+        this.spilledCounter = meterRegistry.counter("audit.events.spilled");
+        this.droppedCounter = meterRegistry.counter("audit.events.dropped");
+        this.failedBatchCounter = meterRegistry.counter("audit.batches.failed");
+        this.sendSuccessTimer = sendTimer(meterRegistry, "success");
+        this.sendFailureTimer = sendTimer(meterRegistry, "failure");
+    }
+
+    // Never blocks the caller: a full queue spills straight to disk
+    public void enqueue(AuditEvent event) {
+        if (!queue.offer(event)) {
+            spill(List.of(event));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${audit.pipeline.flush-interval-ms:1000}")
+    public void flush() {
+        List<AuditEvent> batch = new ArrayList<>(flushSize);
+        while (queue.drainTo(batch, flushSize) > 0) {
+            if (!send(batch)) {
+                spill(batch);
+                // Audit service is unavailable; leave the rest for the next tick
+                return;
+            }
+            batch = new ArrayList<>(flushSize);
+        }
+
+        if (spillFile.hasPending()) {
+            spillFile.replay(flushSize, this::send);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        List<AuditEvent> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty() && !send(remaining)) {
+            spill(remaining);
+        }
+    }
+
+    private boolean send(List<AuditEvent> batch) {
+        long started = System.nanoTime();
+        try {
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(MediaType.APPLICATION_JSON);
+            
+            restTemplate.postForEntity(batchUrl, new HttpEntity<>(batch, headers), Void.class);
+            sendSuccessTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            sentCounter.increment(batch.size());
+            
+            logger.debug("Audit batch of {} events sent successfully", batch.size());
+            return true;
+        } catch (Exception e) {
+            sendFailureTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            failedBatchCounter.increment();
+            logger.error("Error sending audit batch of {} events: {}", batch.size(), e.getMessage());
+            return false;
+        }
+    }
+
+    private static Timer sendTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("audit.batch.send")
+                .description("Time to post one audit batch")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private void spill(List<AuditEvent> events) {
+        if (spillFile.append(events)) {
+            spilledCounter.increment(events.size());
+        } else {
+            droppedCounter.increment(events.size());
+        }
+    }
+}
@@ -1,142 +1,57 @@
 package com.bank.userservice.service.impl;
 
+import com.bank.userservice.dto.AuditEvent;
 import com.bank.userservice.entity.UserRole;
 import com.bank.userservice.service.AuditService;
 
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
-import java.util.HashMap;
-import java.util.Map;
 import java.util.UUID;
 
 @Service
 public class AuditServiceImpl implements AuditService {
 
-    private static final Logger logger = LoggerFactory.getLogger(AuditServiceImpl.class);
+    private final AuditBatchSender auditBatchSender;
     
-    private final RestTemplate restTemplate;
-    
-    @Value("${audit-service.url:http://auditservice/api/audits}")
-    private String auditServiceUrl;
-    
-    public AuditServiceImpl() {
-        this.restTemplate = new RestTemplate();
+    public AuditServiceImpl(AuditBatchSender auditBatchSender) {
+        this.auditBatchSender = auditBatchSender;
     }
 
+    // Events are only queued here; AuditBatchSender ships them off the caller's thread
+
     @Override
     public void logUserCreation(UUID userId, String username, UserRole role) {
-        try {
-            Map<String, Object> auditData = new HashMap<>();
-            auditData.put("userId", userId);
-            auditData.put("actionType", "CREATE");
-            auditData.put("entityType", "USER");
-            auditData.put("entityId", userId.toString());
-            auditData.put("description", "User created: " + username + " with role " + role);
-            
-            sendAuditLog(auditData);
-        } catch (Exception e) {
-            logger.error("Failed to log user creation: {}", e.getMessage());
-        }
+        auditBatchSender.enqueue(new AuditEvent(userId, "CREATE", "USER", userId.toString(),
+                "User created: " + username + " with role " + role));
     }
 
     @Override
     public void logUserUpdate(UUID userId, String username) {
-        try {
-            Map<String, Object> auditData = new HashMap<>();
-            auditData.put("userId", userId);
-            auditData.put("actionType", "UPDATE");
-            auditData.put("entityType", "USER");
-            auditData.put("entityId", userId.toString());
-            auditData.put("description", "User updated: " + username);
-            
-            sendAuditLog(auditData);
-        } catch (Exception e) {
-            logger.error("Failed to log user update: {}", e.getMessage());
-        }
+        auditBatchSender.enqueue(new AuditEvent(userId, "UPDATE", "USER", userId.toString(),
+                "User updated: " + username));
     }
 
     @Override
     public void logUserDeletion(UUID userId, String username) {
-        try {
-            Map<String, Object> auditData = new HashMap<>();
-            auditData.put("userId", userId);
-            auditData.put("actionType", "DELETE");
-            auditData.put("entityType", "USER");
-            auditData.put("entityId", userId.toString());
-            auditData.put("description", "User deleted: " + username);
-            
-            sendAuditLog(auditData);
-        } catch (Exception e) {
-            logger.error("Failed to log user deletion: {}", e.getMessage());
-        }
+        auditBatchSender.enqueue(new AuditEvent(userId, "DELETE", "USER", userId.toString(),
+                "User deleted: " + username));
     }
 
     @Override
     public void logUserStatusChange(UUID userId, String username, String newStatus) {
-        try {
-            Map<String, Object> auditData = new HashMap<>();
-            auditData.put("userId", userId);
-            auditData.put("actionType", "UPDATE");
-            auditData.put("entityType", "USER_STATUS");
-            auditData.put("entityId", userId.toString());
-            auditData.put("description", "User status changed: " + username + " to " + newStatus);
-            
-            sendAuditLog(auditData);
-        } catch (Exception e) {
-            logger.error("Failed to log user status change: {}", e.getMessage());
-        }
+        auditBatchSender.enqueue(new AuditEvent(userId, "UPDATE", "USER_STATUS", userId.toString(),
+                "User status changed: " + username + " to " + newStatus));
     }
 
     @Override
     public void logUserRoleChange(UUID userId, String username, UserRole newRole) {
-        try {
-            Map<String, Object> auditData = new HashMap<>();
-            auditData.put("userId", userId);
-            auditData.put("actionType", "UPDATE");
-            auditData.put("entityType", "USER_ROLE");
-            auditData.put("entityId", userId.toString());
-            auditData.put("description", "User role changed: " + username + " to " + newRole);
-            
-            sendAuditLog(auditData);
-        } catch (Exception e) {
-            logger.error("Failed to log user role change: {}", e.getMessage());
-        }
+        auditBatchSender.enqueue(new AuditEvent(userId, "UPDATE", "USER_ROLE", userId.toString(),
+                "User role changed: " + username + " to " + newRole));
     }
 
     @Override
     public void logUserLogin(UUID userId, String username) {
-        try {
-            Map<String, Object> auditData = new HashMap<>();
-            auditData.put("userId", userId);
-            auditData.put("actionType", "LOGIN");
-            auditData.put("entityType", "USER");
-            auditData.put("entityId", userId.toString());
-            auditData.put("description", "User logged in: " + username);
-            
-            sendAuditLog(auditData);
-        } catch (Exception e) {
-            logger.error("Failed to log user login: {}", e.getMessage());
-        }
-    }
-    
-    private void sendAuditLog(Map<String, Object> auditData) {
-        try {
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            
-            HttpEntity<Map<String, Object>> request = new HttpEntity<>(auditData, headers);
-            restTemplate.postForEntity(auditServiceUrl, request, Void.class);
-            
-            logger.debug("Audit log sent successfully: {}", auditData);
-        } catch (Exception e) {
-            logger.error("Error sending audit log: {}", e.getMessage());
-        }
+        auditBatchSender.enqueue(new AuditEvent(userId, "LOGIN", "USER", userId.toString(),
+                "User logged in: " + username));
     }
 }
@@ -0,0 +1,196 @@
+package com.bank.userservice.service.impl;
+
+import com.bank.userservice.dto.AuditEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+
+// New spills are appended to the spill file. A replay moves it aside and sends it from a persisted byte
+// offset, so a failed batch is retried in place: nothing is read into memory beyond one batch, nothing is
+// rewritten, and the backlog stays ahead of events spilled after it.
+@Component
+public class AuditSpillFile {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditSpillFile.class);
+
+    private final ObjectMapper objectMapper;
+    private final Path spillFile;
+    private final Path replayFile;
+    private final Path offsetFile;
+    private final long maxBytes;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public AuditSpillFile(ObjectMapper objectMapper,
+            @Value("${audit.pipeline.spill-file:audit-spill/audit-events.ndjson}") String spillFile,
+            @Value("${audit.pipeline.spill-max-bytes:268435456}") long maxBytes) {
+        this.objectMapper = objectMapper;
+        this.spillFile = Path.of(spillFile);
+        this.replayFile = Path.of(spillFile + ".replay");
+        this.offsetFile = Path.of(spillFile + ".replay.offset");
+        this.maxBytes = maxBytes;
+    }
+
+    // Appends events as NDJSON; returns false if nothing was written, including when the spill and replay
+    // files together would grow past audit.pipeline.spill-max-bytes
+    public boolean append(List<AuditEvent> events) {
+        lock.lock();
+        try {
+            ByteArrayOutputStream lines = new ByteArrayOutputStream();
+            for (AuditEvent event : events) {
+                lines.write(objectMapper.writeValueAsBytes(event));
+                lines.write('\n');
+            }
+            long used = sizeOf(spillFile) + sizeOf(replayFile);
+            if (used + lines.size() > maxBytes) {
+                logger.error("Audit spill files hold {} bytes, limit is {}; dropping {} audit events",
+                        used, maxBytes, events.size());
+                return false;
+            }
+
+            Path parent = spillFile.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            try (OutputStream out = Files.newOutputStream(spillFile, StandardOpenOption.CREATE,
+                    StandardOpenOption.APPEND)) {
+                lines.writeTo(out);
+            }
+            return true;
+        } catch (IOException e) {
+            logger.error("Failed to spill {} audit events: {}", events.size(), e.getMessage());
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean hasPending() {
+        return Files.exists(spillFile) || Files.exists(replayFile);
+    }
+
+    // Sends the backlog in batches, oldest first. The offset advances after every accepted batch; the first
+    // rejected batch ends the replay, and the next call starts again from that batch.
+    public void replay(int batchSize, Predicate<List<AuditEvent>> sender) {
+        lock.lock();
+        try {
+            if (!Files.exists(replayFile)) {
+                if (!Files.exists(spillFile)) {
+                    return;
+                }
+                Files.deleteIfExists(offsetFile);
+                Files.move(spillFile, replayFile, StandardCopyOption.ATOMIC_MOVE);
+            }
+        } catch (IOException e) {
+            logger.error("Failed to prepare audit spill replay: {}", e.getMessage());
+            return;
+        } finally {
+            lock.unlock();
+        }
+
+        long offset = readOffset();
+        try (FileChannel channel = FileChannel.open(replayFile, StandardOpenOption.READ);
+                InputStream in = new BufferedInputStream(Channels.newInputStream(channel.position(offset)))) {
+            List<AuditEvent> batch = new ArrayList<>(batchSize);
+            ByteArrayOutputStream line = new ByteArrayOutputStream();
+            long position = offset;
+            int length;
+            while ((length = readLine(in, line)) > 0) {
+                position += length;
+                AuditEvent event = parse(line);
+                if (event != null) {
+                    batch.add(event);
+                }
+                if (batch.size() >= batchSize) {
+                    if (!sender.test(batch)) {
+                        return;
+                    }
+                    writeOffset(position);
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+            if (!batch.isEmpty() && !sender.test(batch)) {
+                return;
+            }
+        } catch (IOException e) {
+            logger.error("Failed to replay audit spill file: {}", e.getMessage());
+            return;
+        }
+
+        lock.lock();
+        try {
+            Files.deleteIfExists(replayFile);
+            Files.deleteIfExists(offsetFile);
+        } catch (IOException e) {
+            logger.error("Failed to remove replayed audit spill file: {}", e.getMessage());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Reads one line into the buffer; returns the bytes consumed including the newline, or 0 at end of file
+    private static int readLine(InputStream in, ByteArrayOutputStream line) throws IOException {
+        line.reset();
+        int consumed = 0;
+        int b;
+        while ((b = in.read()) != -1) {
+            consumed++;
+            if (b == '\n') {
+                break;
+            }
+            line.write(b);
+        }
+        return consumed;
+    }
+
+    private AuditEvent parse(ByteArrayOutputStream line) {
+        String json = line.toString(StandardCharsets.UTF_8);
+        if (json.isBlank()) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(json, AuditEvent.class);
+        } catch (JsonProcessingException e) {
+            logger.error("Skipping unreadable spilled audit event: {}", e.getOriginalMessage());
+            return null;
+        }
+    }
+
+    // A lost or unreadable offset restarts the file: delivery is at-least-once
+    private long readOffset() {
+        try {
+            return Files.exists(offsetFile) ? Long.parseLong(Files.readString(offsetFile).trim()) : 0;
+        } catch (IOException | NumberFormatException e) {
+            logger.warn("Replaying audit spill file from the start: {}", e.getMessage());
+            return 0;
+        }
+    }
+
+    private void writeOffset(long offset) throws IOException {
+        Files.writeString(offsetFile, Long.toString(offset));
+    }
+
+    private static long sizeOf(Path file) throws IOException {
+        return Files.exists(file) ? Files.size(file) : 0;
+    }
+}
@@ -0,0 +1,55 @@
+package com.bank.userservice.service.impl;
+
+import com.bank.userservice.dto.UserChangeMessage;
+import com.bank.userservice.service.UserChangePublisher;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Stand-in for a message broker: appends the change feed to an NDJSON file that consumers can tail
+@Component
+@ConditionalOnProperty(name = "user.outbox.publisher", havingValue = "file", matchIfMissing = true)
+public class FileUserChangePublisher implements UserChangePublisher {
+
+    private final ObjectMapper objectMapper;
+    private final Path feedFile;
+    // Not synchronized: a virtual thread blocked on file I/O inside a monitor would pin its carrier
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public FileUserChangePublisher(ObjectMapper objectMapper,
+            @Value("${user.outbox.feed-file:user-feed/user-changes.ndjson}") String feedFile) {
+        this.objectMapper = objectMapper;
+        this.feedFile = Path.of(feedFile);
+    }
+
+    @Override
+    public void publish(List<UserChangeMessage> messages) throws IOException {
+        lock.lock();
+        try {
+            Path parent = feedFile.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            try (BufferedWriter writer = Files.newBufferedWriter(feedFile, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                for (UserChangeMessage message : messages) {
+                    writer.write(objectMapper.writeValueAsString(message));
+                    writer.newLine();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+}
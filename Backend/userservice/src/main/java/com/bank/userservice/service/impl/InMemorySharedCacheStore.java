@@ -0,0 +1,70 @@
+package com.bank.userservice.service.impl;
+
+import com.bank.userservice.service.SharedCacheStore;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+// Stand-in for an external key-value store (e.g. Redis); replace this bean to share the cache across replicas
+@Component
+@ConditionalOnProperty(name = "user.cache.backend", havingValue = "shared")
+public class InMemorySharedCacheStore implements SharedCacheStore {
+
+    private final Cache<String, Entry> entries;
+
+    public InMemorySharedCacheStore(@Value("${user.cache.max-size:100000}") long maxSize) {
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, Entry>() {
+                    @Override
+                    public long expireAfterCreate(String key, Entry entry, long currentTime) {
+                        return entry.ttl.toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Entry entry, long currentTime, long currentDuration) {
+                        return entry.ttl.toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Entry entry, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    @Override
+    public Optional<byte[]> get(String key) {
+        Entry entry = entries.getIfPresent(key);
+        // Hand out copies, as a remote store would
+        return entry == null ? Optional.empty() : Optional.of(entry.value.clone());
+    }
+
+    @Override
+    public void put(String key, byte[] value, Duration ttl) {
+        entries.put(key, new Entry(value.clone(), ttl));
+    }
+
+    @Override
+    public void delete(String key) {
+        entries.invalidate(key);
+    }
+
+    private static class Entry {
+        private final byte[] value;
+        private final Duration ttl;
+
+        private Entry(byte[] value, Duration ttl) {
+            this.value = value;
+            this.ttl = ttl;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.bank.userservice.service.impl;
+
+import com.bank.userservice.dto.UserChangeMessage;
+import com.bank.userservice.service.UserChangePublisher;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Keeps published messages in memory, for tests and local runs without a consumer
+@Component
+@ConditionalOnProperty(name = "user.outbox.publisher", havingValue = "memory")
+public class InMemoryUserChangePublisher implements UserChangePublisher {
+
+    private final List<UserChangeMessage> published = new ArrayList<>();
+    // Same locking as FileUserChangePublisher, so swapping publishers does not change threading behaviour
+    private final ReentrantLock lock = new ReentrantLock();
+
+    @Override
+    public void publish(List<UserChangeMessage> messages) {
+        lock.lock();
+        try {
+            published.addAll(messages);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public List<UserChangeMessage> getPublished() {
+        lock.lock();
+        try {
+            return new ArrayList<>(published);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void clear() {
+        lock.lock();
+        try {
+            published.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
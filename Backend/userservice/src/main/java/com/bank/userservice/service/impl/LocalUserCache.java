@@ -0,0 +1,119 @@
+package com.bank.userservice.service.impl;
+
+import com.bank.userservice.dto.UserDTO;
+import com.bank.userservice.service.UserCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.UUID;
+
+@Component
+@ConditionalOnProperty(name = "user.cache.backend", havingValue = "local", matchIfMissing = true)
+public class LocalUserCache implements UserCache {
+
+    private final Cache<UUID, UserDTO> byId;
+    private final Cache<String, UUID> idByUsername;
+    private final Cache<String, UUID> idByEmail;
+    // updatedAt of the newest version evicted per id; a put of anything older is a stale read
+    private final Cache<UUID, LocalDateTime> evictedVersions;
+
+    public LocalUserCache(
+            MeterRegistry meterRegistry,
+            @Value("${user.cache.max-size:100000}") long maxSize,
+            @Value("${user.cache.ttl-seconds:300}") long ttlSeconds) {
+        Duration ttl = Duration.ofSeconds(ttlSeconds);
+        this.byId = newCache(maxSize, ttl);
+        this.idByUsername = newCache(maxSize, ttl);
+        this.idByEmail = newCache(maxSize, ttl);
+        this.evictedVersions = Caffeine.newBuilder().maximumSize(maxSize).expireAfterWrite(ttl).build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, byId, "users.id");
+        CaffeineCacheMetrics.monitor(meterRegistry, idByUsername, "users.username");
+        CaffeineCacheMetrics.monitor(meterRegistry, idByEmail, "users.email");
+    }
+
+    @Override
+    public Optional<UserDTO> getById(UUID id) {
+        return Optional.ofNullable(byId.getIfPresent(id));
+    }
+
+    @Override
+    public Optional<UserDTO> getByUsername(String username) {
+        String key = normalize(username);
+        UUID id = idByUsername.getIfPresent(key);
+        if (id == null) {
+            return Optional.empty();
+        }
+        UserDTO user = byId.getIfPresent(id);
+        // The index entry may outlive the user entry or point at a renamed user
+        if (user == null || !key.equals(normalize(user.getUsername()))) {
+            idByUsername.invalidate(key);
+            return Optional.empty();
+        }
+        return Optional.of(user);
+    }
+
+    @Override
+    public Optional<UserDTO> getByEmail(String email) {
+        String key = normalize(email);
+        UUID id = idByEmail.getIfPresent(key);
+        if (id == null) {
+            return Optional.empty();
+        }
+        UserDTO user = byId.getIfPresent(id);
+        if (user == null || !key.equals(normalize(user.getEmail()))) {
+            idByEmail.invalidate(key);
+            return Optional.empty();
+        }
+        return Optional.of(user);
+    }
+
+    @Override
+    public void put(UserDTO user) {
+        // A reader that loaded the row before a concurrent update committed must not re-cache it after the
+        // eviction; check and put run under the id's lock in evictedVersions, as does evict
+        evictedVersions.asMap().compute(user.getId(), (id, evicted) -> {
+            if (evicted == null || (user.getUpdatedAt() != null && !user.getUpdatedAt().isBefore(evicted))) {
+                byId.put(id, user);
+                idByUsername.put(normalize(user.getUsername()), id);
+                idByEmail.put(normalize(user.getEmail()), id);
+            }
+            return evicted;
+        });
+    }
+
+    @Override
+    public void evict(UserDTO user) {
+        evictedVersions.asMap().compute(user.getId(), (id, evicted) -> {
+            byId.invalidate(id);
+            idByUsername.invalidate(normalize(user.getUsername()));
+            idByEmail.invalidate(normalize(user.getEmail()));
+            LocalDateTime version = user.getUpdatedAt();
+            return evicted == null || (version != null && version.isAfter(evicted)) ? version : evicted;
+        });
+    }
+
+    // SQL Server's default collation is case-insensitive and ignores trailing spaces
+    private static String normalize(String value) {
+        return value.stripTrailing().toLowerCase(Locale.ROOT);
+    }
+
+    private static <K, V> Cache<K, V> newCache(long maxSize, Duration ttl) {
+        return Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+}
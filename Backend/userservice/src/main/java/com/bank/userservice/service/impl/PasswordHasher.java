@@ -0,0 +1,169 @@
+package com.bank.userservice.service.impl;
+
+import com.bank.userservice.exception.ServiceBusyException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Runs BCrypt on a CPU-sized pool, outside any database transaction.
+// A full queue is rejected immediately instead of piling up request threads.
+@Component
+public class PasswordHasher {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMs;
+
+    // Checked against when a user does not exist, so response time does not reveal which usernames do;
+    // created on first use to keep one BCrypt run out of startup
+    private volatile String unknownUserHash;
+
+    private final MeterRegistry meterRegistry;
+    private final Counter rejectedCounter;
+
+    public PasswordHasher(
+            PasswordEncoder passwordEncoder,
+            MeterRegistry meterRegistry,
+            @Value("${security.password.hash-threads:0}") int threads,
+            @Value("${security.password.hash-queue-capacity:256}") int queueCapacity,
+            @Value("${security.password.hash-timeout-ms:5000}") long timeoutMs) {
+        this.passwordEncoder = passwordEncoder;
+        this.timeoutMs = timeoutMs;
+        this.meterRegistry = meterRegistry;
+        this.rejectedCounter = meterRegistry.counter("user.password.hash.rejected");
+
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hasher-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    public String hash(String rawPassword) {
+        return await(submit(rawPassword));
+    }
+
+    // Hashes in parallel with at most one task per pool thread in flight, so a bulk caller
+    // never fills the queue that interactive requests rely on. Result order matches the input.
+    public List<String> hashAll(List<String> rawPasswords) {
+        int window = executor.getMaximumPoolSize();
+        Deque<Future<String>> inFlight = new ArrayDeque<>(window);
+        List<String> hashes = new ArrayList<>(rawPasswords.size());
+        try {
+            for (String rawPassword : rawPasswords) {
+                if (inFlight.size() == window) {
+                    hashes.add(await(inFlight.removeFirst()));
+                }
+                inFlight.addLast(submit(rawPassword));
+            }
+            while (!inFlight.isEmpty()) {
+                hashes.add(await(inFlight.removeFirst()));
+            }
+        } catch (RuntimeException e) {
+            inFlight.forEach(future -> future.cancel(false));
+            throw e;
+        }
+        return hashes;
+    }
+
+    // Compares on the hashing pool. A null encodedPassword (no such user) costs the same and never matches.
+    public boolean matches(String rawPassword, String encodedPassword) {
+        if (encodedPassword == null) {
+            await(submit(() -> passwordEncoder.matches(rawPassword, unknownUserHash())));
+            return false;
+        }
+        return await(submit(() -> passwordEncoder.matches(rawPassword, encodedPassword)));
+    }
+
+    // Returns a fresh hash when the stored one uses an old scheme or a lower cost factor
+    public Optional<String> upgradeIfNeeded(String rawPassword, String encodedPassword) {
+        if (!passwordEncoder.upgradeEncoding(encodedPassword)) {
+            return Optional.empty();
+        }
+        return Optional.of(hash(rawPassword));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private Future<String> submit(String rawPassword) {
+        return submit(() -> encode(rawPassword));
+    }
+
+    private <T> Future<T> submit(Callable<T> task) {
+        try {
+            return executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            throw new ServiceBusyException("Too many concurrent password operations, please retry", e);
+        }
+    }
+
+    private String encode(String rawPassword) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            String hash = passwordEncoder.encode(rawPassword);
+            outcome = "success";
+            return hash;
+        } finally {
+            sample.stop(Timer.builder("user.password.hash")
+                    .description("BCrypt encoding time on the hashing pool")
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+    }
+
+    private String unknownUserHash() {
+        String hash = unknownUserHash;
+        if (hash == null) {
+            hash = passwordEncoder.encode(UUID.randomUUID().toString());
+            unknownUserHash = hash;
+        }
+        return hash;
+    }
+
+    private <T> T await(Future<T> future) {
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new ServiceBusyException("Timed out waiting for password hashing", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceBusyException("Interrupted while hashing password", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.bank.userservice.service.impl;
+
+import com.bank.userservice.dto.UserDTO;
+import com.bank.userservice.service.SharedCacheStore;
+import com.bank.userservice.service.UserCache;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.UUID;
+
+@Component
+@ConditionalOnProperty(name = "user.cache.backend", havingValue = "shared")
+public class SharedUserCache implements UserCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(SharedUserCache.class);
+
+    private static final String ID_PREFIX = "users:id:";
+    private static final String USERNAME_PREFIX = "users:username:";
+    private static final String EMAIL_PREFIX = "users:email:";
+    private static final String EVICTED_PREFIX = "users:evicted:";
+
+    private final SharedCacheStore store;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter evictionCounter;
+
+    public SharedUserCache(
+            SharedCacheStore store,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${user.cache.ttl-seconds:300}") long ttlSeconds) {
+        this.store = store;
+        this.objectMapper = objectMapper;
+        this.ttl = Duration.ofSeconds(ttlSeconds);
+
+        // Same meter names as the Caffeine binder so dashboards work with either backend
+        this.hitCounter = meterRegistry.counter("cache.gets", "cache", "users.shared", "result", "hit");
+        this.missCounter = meterRegistry.counter("cache.gets", "cache", "users.shared", "result", "miss");
+        this.evictionCounter = meterRegistry.counter("cache.evictions", "cache", "users.shared");
+    }
+
+    @Override
+    public Optional<UserDTO> getById(UUID id) {
+        Optional<UserDTO> user = store.get(ID_PREFIX + id).flatMap(this::readUser);
+        record(user.isPresent());
+        return user;
+    }
+
+    @Override
+    public Optional<UserDTO> getByUsername(String username) {
+        String key = normalize(username);
+        Optional<UserDTO> user = resolveIndex(USERNAME_PREFIX + key)
+                .filter(found -> key.equals(normalize(found.getUsername())));
+        record(user.isPresent());
+        return user;
+    }
+
+    @Override
+    public Optional<UserDTO> getByEmail(String email) {
+        String key = normalize(email);
+        Optional<UserDTO> user = resolveIndex(EMAIL_PREFIX + key)
+                .filter(found -> key.equals(normalize(found.getEmail())));
+        record(user.isPresent());
+        return user;
+    }
+
+    @Override
+    public void put(UserDTO user) {
+        // Skip a row read before a concurrent update committed. The store has no compare-and-set, so this
+        // narrows the window to the gap between this check and the puts below rather than closing it.
+        Optional<LocalDateTime> evicted = evictedVersion(user.getId());
+        if (evicted.isPresent() && (user.getUpdatedAt() == null || user.getUpdatedAt().isBefore(evicted.get()))) {
+            return;
+        }
+        try {
+            byte[] id = user.getId().toString().getBytes(StandardCharsets.UTF_8);
+            store.put(ID_PREFIX + user.getId(), objectMapper.writeValueAsBytes(user), ttl);
+            store.put(USERNAME_PREFIX + normalize(user.getUsername()), id, ttl);
+            store.put(EMAIL_PREFIX + normalize(user.getEmail()), id, ttl);
+        } catch (IOException e) {
+            logger.error("Failed to cache user {}: {}", user.getId(), e.getMessage());
+        }
+    }
+
+    @Override
+    public void evict(UserDTO user) {
+        LocalDateTime version = user.getUpdatedAt();
+        if (version != null && evictedVersion(user.getId()).map(version::isAfter).orElse(true)) {
+            store.put(EVICTED_PREFIX + user.getId(), version.toString().getBytes(StandardCharsets.UTF_8), ttl);
+        }
+        store.delete(ID_PREFIX + user.getId());
+        store.delete(USERNAME_PREFIX + normalize(user.getUsername()));
+        store.delete(EMAIL_PREFIX + normalize(user.getEmail()));
+        evictionCounter.increment();
+    }
+
+    private Optional<LocalDateTime> evictedVersion(UUID id) {
+        return store.get(EVICTED_PREFIX + id)
+                .map(version -> LocalDateTime.parse(new String(version, StandardCharsets.UTF_8)));
+    }
+
+    private Optional<UserDTO> resolveIndex(String key) {
+        return store.get(key)
+                .map(id -> new String(id, StandardCharsets.UTF_8))
+                .flatMap(id -> store.get(ID_PREFIX + id))
+                .flatMap(this::readUser);
+    }
+
+    private Optional<UserDTO> readUser(byte[] value) {
+        try {
+            return Optional.of(objectMapper.readValue(value, UserDTO.class));
+        } catch (IOException e) {
+            logger.error("Discarding unreadable cached user: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    // SQL Server's default collation is case-insensitive and ignores trailing spaces
+    private static String normalize(String value) {
+        return value.stripTrailing().toLowerCase(Locale.ROOT);
+    }
+
+    private void record(boolean hit) {
+        if (hit) {
+            hitCounter.increment();
+        } else {
+            missCounter.increment();
+        }
+    }
+}
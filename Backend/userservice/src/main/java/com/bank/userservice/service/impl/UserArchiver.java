@@ -0,0 +1,117 @@
+package com.bank.userservice.service.impl;
+
+import com.bank.userservice.entity.User;
+import com.bank.userservice.repository.UserRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Moves users soft-deleted longer than the retention from users into users_archive, so the hot table
+// and its indexes only hold live accounts (plus recent deletions that can still be undone in place).
+// Each batch is its own short transaction; batches stay below SQL Server's 5000-lock escalation threshold
+// and are spaced out so the archiver never holds locks long enough to stall user traffic.
+@Component
+@ConditionalOnProperty(name = "user.archive.enabled", havingValue = "true", matchIfMissing = true)
+public class UserArchiver {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserArchiver.class);
+
+    private static final String INSERT_SQL = "INSERT INTO users_archive "
+            + "(id, username, email, password, phone_number, role, status, created_at, updated_at, archived_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final UserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter archivedCounter;
+
+    @Value("${user.archive.retention-days:30}")
+    private int retentionDays;
+
+    @Value("${user.archive.batch-size:500}")
+    private int batchSize;
+
+    @Value("${user.archive.batch-delay-ms:200}")
+    private long batchDelayMs;
+
+    @Value("${user.archive.max-batches-per-run:100}")
+    private int maxBatchesPerRun;
+
+    public UserArchiver(
+            UserRepository userRepository,
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.archivedCounter = meterRegistry.counter("user.archive.archived");
+    }
+
+    @Scheduled(initialDelayString = "${user.archive.interval-ms:3600000}",
+            fixedDelayString = "${user.archive.interval-ms:3600000}")
+    public void archive() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(Duration.ofDays(retentionDays));
+        int total = 0;
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            Integer archived = transactionTemplate.execute(status -> archiveBatch(cutoff));
+            if (archived == null || archived == 0) {
+                break;
+            }
+            total += archived;
+            if (archived < batchSize) {
+                break;
+            }
+            try {
+                Thread.sleep(batchDelayMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        if (total > 0) {
+            logger.info("Archived {} users deleted before {}", total, cutoff);
+        }
+    }
+
+    // Copy and delete under the same row locks, so a concurrent restore either sees the row
+    // in users or, after this commits, in users_archive
+    private int archiveBatch(LocalDateTime cutoff) {
+        List<User> batch = userRepository.findArchivableBatch(cutoff, PageRequest.of(0, batchSize));
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (statement, user) -> {
+            statement.setString(1, user.getId().toString());
+            statement.setString(2, user.getUsername());
+            statement.setString(3, user.getEmail());
+            statement.setString(4, user.getPassword());
+            statement.setString(5, user.getPhoneNumber());
+            statement.setString(6, user.getRole().name());
+            statement.setString(7, user.getStatus().name());
+            statement.setTimestamp(8, Timestamp.valueOf(user.getCreatedAt()));
+            statement.setTimestamp(9, user.getUpdatedAt() != null ? Timestamp.valueOf(user.getUpdatedAt()) : null);
+            statement.setTimestamp(10, now);
+        });
+        userRepository.deleteAllInBatch(batch);
+        archivedCounter.increment(batch.size());
+        return batch.size();
+    }
+}
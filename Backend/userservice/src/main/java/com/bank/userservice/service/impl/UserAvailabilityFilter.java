@@ -0,0 +1,144 @@
+package com.bank.userservice.service.impl;
+
+import com.bank.userservice.dto.UserDTO;
+import com.bank.userservice.event.UserChangedEvent;
+import com.bank.userservice.repository.UserIdentityView;
+import com.bank.userservice.repository.UserRepository;
+import com.bank.userservice.util.BloomFilter;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Locale;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+// Answers "definitely not taken" for usernames/emails without a database round trip.
+// Only ever errs towards "maybe taken", which callers confirm against the repository.
+@Component
+public class UserAvailabilityFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserAvailabilityFilter.class);
+
+    private final UserRepository userRepository;
+    private final long expectedUsers;
+    private final double falsePositiveRate;
+
+    private volatile Filters current;
+    private volatile Queue<String[]> pending;
+
+    public UserAvailabilityFilter(
+            UserRepository userRepository,
+            @Value("${user.availability.expected-users:1000000}") long expectedUsers,
+            @Value("${user.availability.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.userRepository = userRepository;
+        this.expectedUsers = expectedUsers;
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    public boolean isUsernameDefinitelyFree(String username) {
+        Filters filters = current;
+        return filters != null && !filters.usernames.mightContain(normalize(username));
+    }
+
+    public boolean isEmailDefinitelyFree(String email) {
+        Filters filters = current;
+        return filters != null && !filters.emails.mightContain(normalize(email));
+    }
+
+    // Runs before commit: an early add can only cause a false positive, never a false "free"
+    @EventListener
+    public void onUserChanged(UserChangedEvent event) {
+        UserDTO user = event.getCurrent();
+        if (user != null) {
+            add(user.getUsername(), user.getEmail());
+        }
+    }
+
+    // Adds made during a rebuild are replayed onto the new filters
+    public void add(String username, String email) {
+        Queue<String[]> queue = pending;
+        if (queue != null) {
+            queue.add(new String[] { username, email });
+        }
+        Filters filters = current;
+        if (filters != null) {
+            filters.add(username, email);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void build() {
+        rebuild();
+    }
+
+    // Periodic rebuild picks up rows written by other replicas and resets saturation
+    @Scheduled(initialDelayString = "${user.availability.rebuild-interval-ms:600000}",
+            fixedDelayString = "${user.availability.rebuild-interval-ms:600000}")
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+        Filters filters = new Filters(expectedUsers, falsePositiveRate);
+        Queue<String[]> queue = new ConcurrentLinkedQueue<>();
+        pending = queue;
+        try (Stream<UserIdentityView> identities = userRepository.streamAllIdentities()) {
+            identities.forEach(identity -> filters.add(identity.getUsername(), identity.getEmail()));
+            replay(filters, queue);
+            current = filters;
+        } catch (RuntimeException e) {
+            logger.error("Failed to build availability filter: {}", e.getMessage());
+            return;
+        } finally {
+            pending = null;
+        }
+        // Adds that raced the swap above went to the old filters only
+        replay(filters, queue);
+
+        long count = filters.count.get();
+        if (count > expectedUsers) {
+            logger.warn("Availability filter holds {} users but is sized for {}; raise user.availability.expected-users",
+                    count, expectedUsers);
+        }
+        logger.info("Availability filter built with {} users in {} ms ({} bytes per filter, {} hashes)",
+                count, System.currentTimeMillis() - started,
+                filters.usernames.getSizeInBytes(), filters.usernames.getHashCount());
+    }
+
+    private static void replay(Filters filters, Queue<String[]> queue) {
+        String[] identity;
+        while ((identity = queue.poll()) != null) {
+            filters.add(identity[0], identity[1]);
+        }
+    }
+
+    // SQL Server's default collation is case-insensitive and ignores trailing spaces
+    private static String normalize(String value) {
+        return value.stripTrailing().toLowerCase(Locale.ROOT);
+    }
+
+    private static class Filters {
+        private final BloomFilter usernames;
+        private final BloomFilter emails;
+        private final AtomicLong count = new AtomicLong();
+
+        private Filters(long expectedUsers, double falsePositiveRate) {
+            this.usernames = new BloomFilter(expectedUsers, falsePositiveRate);
+            this.emails = new BloomFilter(expectedUsers, falsePositiveRate);
+        }
+
+        private void add(String username, String email) {
+            usernames.put(normalize(username));
+            emails.put(normalize(email));
+            count.incrementAndGet();
+        }
+    }
+}
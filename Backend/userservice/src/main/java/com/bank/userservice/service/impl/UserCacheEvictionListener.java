@@ -0,0 +1,30 @@
+package com.bank.userservice.service.impl;
+
+import com.bank.userservice.event.UserChangedEvent;
+import com.bank.userservice.service.UserCache;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Component
+public class UserCacheEvictionListener {
+
+    private final UserCache userCache;
+
+    public UserCacheEvictionListener(UserCache userCache) {
+        this.userCache = userCache;
+    }
+
+    // Evicts after commit. A reader that loaded the pre-change row before the commit may still try to cache it
+    // afterwards; the cache rejects rows older than the version evicted here.
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.getPrevious() != null) {
+            userCache.evict(event.getPrevious());
+        }
+        if (event.getCurrent() != null) {
+            userCache.evict(event.getCurrent());
+        }
+    }
+}
@@ -0,0 +1,376 @@
+package com.bank.userservice.service.impl;
+
+import com.bank.userservice.dto.CreateUserRequest;
+import com.bank.userservice.dto.UserDTO;
+import com.bank.userservice.dto.UserImportResult;
+import com.bank.userservice.entity.UserRole;
+import com.bank.userservice.entity.UserStatus;
+import com.bank.userservice.event.UserChangedEvent;
+import com.bank.userservice.exception.ServiceBusyException;
+import com.bank.userservice.repository.UserRepository;
+import com.bank.userservice.service.UserImportService;
+import com.bank.userservice.util.TimeOrderedUuid;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+public class UserImportServiceImpl implements UserImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserImportServiceImpl.class);
+
+    private static final String INSERT_SQL = "INSERT INTO users "
+            + "(id, username, email, password, phone_number, role, status, is_deleted, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final UserRepository userRepository;
+    private final PasswordHasher passwordHasher;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    @Value("${user.import.batch-size:500}")
+    private int batchSize;
+
+    // SQL Server accepts at most 2100 parameters per statement, and batch-size is not bounded by it
+    @Value("${user.batch-lookup.chunk-size:2000}")
+    private int lookupChunkSize;
+
+    public UserImportServiceImpl(
+            UserRepository userRepository,
+            PasswordHasher passwordHasher,
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            ApplicationEventPublisher eventPublisher,
+            ObjectMapper objectMapper,
+            Validator validator) {
+        this.userRepository = userRepository;
+        this.passwordHasher = passwordHasher;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+    }
+
+    @Override
+    public void importUsers(InputStream input, Format format, Consumer<UserImportResult> results) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        Map<String, Integer> csvColumns = null;
+        List<ImportRow> chunk = new ArrayList<>(batchSize);
+        long rowNumber = 0;
+
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            if (format == Format.CSV && csvColumns == null) {
+                csvColumns = parseCsvHeader(line);
+                continue;
+            }
+
+            rowNumber++;
+            chunk.add(format == Format.CSV
+                    ? parseCsvRow(rowNumber, line, csvColumns)
+                    : parseJsonRow(rowNumber, line));
+            if (chunk.size() >= batchSize) {
+                processChunk(chunk, results);
+                chunk = new ArrayList<>(batchSize);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            processChunk(chunk, results);
+        }
+    }
+
+    private void processChunk(List<ImportRow> chunk, Consumer<UserImportResult> results) {
+        validate(chunk);
+        rejectDuplicates(chunk);
+
+        List<ImportRow> accepted = chunk.stream()
+                .filter(row -> row.result == null)
+                .collect(Collectors.toList());
+        if (!accepted.isEmpty()) {
+            try {
+                List<String> hashes = passwordHasher.hashAll(accepted.stream()
+                        .map(row -> row.request.getPassword())
+                        .collect(Collectors.toList()));
+                for (int i = 0; i < accepted.size(); i++) {
+                    accepted.get(i).passwordHash = hashes.get(i);
+                }
+                insert(accepted);
+            } catch (ServiceBusyException e) {
+                accepted.forEach(row -> row.result = UserImportResult.rejected(
+                        row.row, UserImportResult.Status.FAILED, e.getMessage()));
+            }
+        }
+
+        chunk.forEach(row -> results.accept(row.result));
+    }
+
+    private void validate(List<ImportRow> chunk) {
+        for (ImportRow row : chunk) {
+            if (row.result != null) {
+                continue;
+            }
+            Set<ConstraintViolation<CreateUserRequest>> violations = validator.validate(row.request);
+            if (!violations.isEmpty()) {
+                String message = violations.stream()
+                        .sorted(Comparator.comparing(violation -> violation.getPropertyPath().toString()))
+                        .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                        .collect(Collectors.joining("; "));
+                row.result = UserImportResult.rejected(row.row, UserImportResult.Status.INVALID, message);
+            } else if (row.request.getRole() == null) {
+                // Bulk onboarding is for donor networks; rows without a role become donors
+                row.request.setRole(UserRole.DONOR);
+            }
+        }
+    }
+
+    // Duplicates within the chunk and against the users table, compared the way
+    // SQL Server's case-insensitive unique indexes compare them
+    private void rejectDuplicates(List<ImportRow> chunk) {
+        Set<String> usernames = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        for (ImportRow row : chunk) {
+            if (row.result != null) {
+                continue;
+            }
+            if (!usernames.add(normalize(row.request.getUsername()))) {
+                row.result = UserImportResult.rejected(row.row, UserImportResult.Status.DUPLICATE,
+                        "Username appears more than once in this batch");
+            } else if (!emails.add(normalize(row.request.getEmail()))) {
+                row.result = UserImportResult.rejected(row.row, UserImportResult.Status.DUPLICATE,
+                        "Email appears more than once in this batch");
+            }
+        }
+
+        List<ImportRow> candidates = chunk.stream()
+                .filter(row -> row.result == null)
+                .collect(Collectors.toList());
+        if (candidates.isEmpty()) {
+            return;
+        }
+        Set<String> takenUsernames = findTaken(candidates.stream()
+                .map(row -> row.request.getUsername())
+                .collect(Collectors.toList()), userRepository::findExistingUsernames);
+        Set<String> takenEmails = findTaken(candidates.stream()
+                .map(row -> row.request.getEmail())
+                .collect(Collectors.toList()), userRepository::findExistingEmails);
+        for (ImportRow row : candidates) {
+            if (takenUsernames.contains(normalize(row.request.getUsername()))) {
+                row.result = UserImportResult.rejected(row.row, UserImportResult.Status.DUPLICATE,
+                        "Username already exists");
+            } else if (takenEmails.contains(normalize(row.request.getEmail()))) {
+                row.result = UserImportResult.rejected(row.row, UserImportResult.Status.DUPLICATE,
+                        "Email already exists");
+            }
+        }
+    }
+
+    private Set<String> findTaken(List<String> keys, Function<List<String>, List<String>> query) {
+        Set<String> taken = new HashSet<>();
+        for (int from = 0; from < keys.size(); from += lookupChunkSize) {
+            query.apply(keys.subList(from, Math.min(from + lookupChunkSize, keys.size())))
+                    .forEach(key -> taken.add(normalize(key)));
+        }
+        return taken;
+    }
+
+    private void insert(List<ImportRow> rows) {
+        // DATETIME2(6): the events carry the value a later read returns
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        rows.forEach(row -> row.id = TimeOrderedUuid.next());
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate(INSERT_SQL, rows, rows.size(), (statement, row) -> bind(statement, row, now));
+                rows.forEach(row -> publishCreated(row, now));
+            });
+            rows.forEach(row -> row.result = UserImportResult.created(row.row, row.id));
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent writer took one of the keys; retry row by row to isolate it
+            logger.warn("Batch insert of {} users hit a constraint, retrying individually", rows.size());
+            rows.forEach(row -> insertSingle(row, now));
+        } catch (RuntimeException e) {
+            logger.error("Batch insert of {} users failed: {}", rows.size(), e.getMessage());
+            rows.forEach(row -> row.result = UserImportResult.rejected(
+                    row.row, UserImportResult.Status.FAILED, "Insert failed"));
+        }
+    }
+
+    private void insertSingle(ImportRow row, LocalDateTime now) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.update(INSERT_SQL, statement -> bind(statement, row, now));
+                publishCreated(row, now);
+            });
+            row.result = UserImportResult.created(row.row, row.id);
+        } catch (DataIntegrityViolationException e) {
+            row.result = UserImportResult.rejected(row.row, UserImportResult.Status.DUPLICATE,
+                    "Username or email already exists");
+        } catch (RuntimeException e) {
+            logger.error("Insert of import row {} failed: {}", row.row, e.getMessage());
+            row.result = UserImportResult.rejected(row.row, UserImportResult.Status.FAILED, "Insert failed");
+        }
+    }
+
+    private void bind(PreparedStatement statement, ImportRow row, LocalDateTime now) throws SQLException {
+        Timestamp timestamp = Timestamp.valueOf(now);
+        statement.setString(1, row.id.toString());
+        statement.setString(2, row.request.getUsername());
+        statement.setString(3, row.request.getEmail());
+        statement.setString(4, row.passwordHash);
+        statement.setString(5, row.request.getPhoneNumber());
+        statement.setString(6, row.request.getRole().name());
+        statement.setString(7, UserStatus.ACTIVE.name());
+        statement.setBoolean(8, false);
+        statement.setTimestamp(9, timestamp);
+        statement.setTimestamp(10, timestamp);
+    }
+
+    private void publishCreated(ImportRow row, LocalDateTime now) {
+        eventPublisher.publishEvent(UserChangedEvent.created(new UserDTO(
+                row.id,
+                row.request.getUsername(),
+                row.request.getEmail(),
+                row.request.getPhoneNumber(),
+                row.request.getRole(),
+                UserStatus.ACTIVE,
+                now,
+                now)));
+    }
+
+    private ImportRow parseJsonRow(long rowNumber, String line) {
+        try {
+            return new ImportRow(rowNumber, objectMapper.readValue(line, CreateUserRequest.class));
+        } catch (JsonProcessingException e) {
+            return new ImportRow(rowNumber, UserImportResult.rejected(rowNumber, UserImportResult.Status.INVALID,
+                    "Malformed JSON row: " + e.getOriginalMessage()));
+        }
+    }
+
+    private Map<String, Integer> parseCsvHeader(String line) {
+        List<String> names = parseCsvLine(line);
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            // Accept phoneNumber, phone_number, PhoneNumber, ...
+            columns.put(names.get(i).replace("_", "").trim().toLowerCase(Locale.ROOT), i);
+        }
+        return columns;
+    }
+
+    private ImportRow parseCsvRow(long rowNumber, String line, Map<String, Integer> columns) {
+        List<String> values = parseCsvLine(line);
+        CreateUserRequest request = new CreateUserRequest(
+                column(values, columns, "username"),
+                column(values, columns, "email"),
+                column(values, columns, "password"),
+                column(values, columns, "phonenumber"),
+                null);
+
+        String role = column(values, columns, "role");
+        if (role != null && !role.isBlank()) {
+            try {
+                request.setRole(UserRole.valueOf(role.trim().toUpperCase(Locale.ROOT)));
+            } catch (IllegalArgumentException e) {
+                return new ImportRow(rowNumber, UserImportResult.rejected(rowNumber,
+                        UserImportResult.Status.INVALID, "role: Unknown role " + role));
+            }
+        }
+        return new ImportRow(rowNumber, request);
+    }
+
+    private static String column(List<String> values, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        return index == null || index >= values.size() ? null : values.get(index);
+    }
+
+    // RFC 4180 fields on a single line: quoted fields may contain commas and doubled quotes
+    private static List<String> parseCsvLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        values.add(field.toString());
+        return values;
+    }
+
+    private static String normalize(String value) {
+        return value.stripTrailing().toLowerCase(Locale.ROOT);
+    }
+
+    private static class ImportRow {
+        private final long row;
+        private final CreateUserRequest request;
+        private UserImportResult result;
+        private UUID id;
+        private String passwordHash;
+
+        private ImportRow(long row, CreateUserRequest request) {
+            this.row = row;
+            this.request = request;
+        }
+
+        private ImportRow(long row, UserImportResult result) {
+            this.row = row;
+            this.request = null;
+            this.result = result;
+        }
+    }
+}
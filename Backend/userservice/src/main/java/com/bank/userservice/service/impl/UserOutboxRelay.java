@@ -0,0 +1,110 @@
+package com.bank.userservice.service.impl;
+
+import com.bank.userservice.dto.UserChangeMessage;
+import com.bank.userservice.dto.UserDTO;
+import com.bank.userservice.entity.UserOutboxEvent;
+import com.bank.userservice.entity.UserOutboxLock;
+import com.bank.userservice.repository.UserOutboxRepository;
+import com.bank.userservice.service.UserChangePublisher;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Publishes outbox rows in id order and deletes them once the publisher has accepted them.
+// One replica relays at a time: each batch runs under the user_outbox_lock lease, and the others skip the poll.
+// Delivery is at-least-once: a crash between publish and delete republishes the batch, so consumers
+// should ignore messages whose sequence they have already applied.
+@Component
+@ConditionalOnProperty(name = "user.outbox.relay-enabled", havingValue = "true", matchIfMissing = true)
+public class UserOutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserOutboxRelay.class);
+
+    private final UserOutboxRepository outboxRepository;
+    private final UserChangePublisher publisher;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+
+    private final Counter publishedCounter;
+    private final Counter failedBatchCounter;
+
+    public UserOutboxRelay(
+            UserOutboxRepository outboxRepository,
+            UserChangePublisher publisher,
+            TransactionTemplate transactionTemplate,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${user.outbox.batch-size:200}") int batchSize) {
+        this.outboxRepository = outboxRepository;
+        this.publisher = publisher;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+        this.publishedCounter = meterRegistry.counter("user.outbox.published");
+        this.failedBatchCounter = meterRegistry.counter("user.outbox.batches.failed");
+    }
+
+    @Scheduled(fixedDelayString = "${user.outbox.poll-interval-ms:500}")
+    public void relay() {
+        // Drain the backlog batch by batch; stop on an empty or failed batch
+        Integer published;
+        do {
+            published = transactionTemplate.execute(status -> relayBatch());
+        } while (published != null && published == batchSize);
+    }
+
+    // The lease is held until the batch's delete commits, so no other replica can publish rows behind it
+    private int relayBatch() {
+        if (outboxRepository.tryAcquireLease(UserOutboxLock.RELAY).isEmpty()) {
+            return 0;
+        }
+        List<UserOutboxEvent> batch = outboxRepository.findNextBatch(PageRequest.of(0, batchSize));
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        List<UserChangeMessage> messages = new ArrayList<>(batch.size());
+        for (UserOutboxEvent event : batch) {
+            messages.add(toMessage(event));
+        }
+        try {
+            publisher.publish(messages);
+        } catch (Exception e) {
+            failedBatchCounter.increment();
+            logger.warn("Failed to publish {} user changes, will retry: {}", messages.size(), e.getMessage());
+            return 0;
+        }
+
+        outboxRepository.deleteAllInBatch(batch);
+        publishedCounter.increment(batch.size());
+        return batch.size();
+    }
+
+    private UserChangeMessage toMessage(UserOutboxEvent event) {
+        UserDTO user;
+        try {
+            user = objectMapper.readValue(event.getPayload(), UserDTO.class);
+        } catch (JsonProcessingException e) {
+            // Keep ordering intact: the message still goes out, without the unreadable snapshot
+            logger.error("Unreadable outbox payload for event {}: {}", event.getId(), e.getOriginalMessage());
+            user = null;
+        }
+        return new UserChangeMessage(event.getId(), event.getEventType(), event.getUserId(), user,
+                event.getCreatedAt());
+    }
+}
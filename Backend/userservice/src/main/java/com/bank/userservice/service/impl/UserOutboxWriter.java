@@ -0,0 +1,102 @@
+package com.bank.userservice.service.impl;
+
+import com.bank.userservice.dto.UserDTO;
+import com.bank.userservice.event.UserChangedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+public class UserOutboxWriter {
+
+    private static final String INSERT_SQL = "INSERT INTO user_outbox (user_id, event_type, payload, created_at) "
+            + "VALUES (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public UserOutboxWriter(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    // Rows are collected per transaction and written in one JDBC batch just before it commits, so the outbox
+    // commits or rolls back with the change and a bulk import costs one round trip instead of one per user
+    @EventListener
+    public void onUserChanged(UserChangedEvent event) {
+        OutboxRow row = toRow(event);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            write(List.of(row));
+            return;
+        }
+        pendingRows().add(row);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<OutboxRow> pendingRows() {
+        List<OutboxRow> rows = (List<OutboxRow>) TransactionSynchronizationManager.getResource(this);
+        if (rows != null) {
+            return rows;
+        }
+        List<OutboxRow> pending = new ArrayList<>();
+        TransactionSynchronizationManager.bindResource(this, pending);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                write(pending);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(UserOutboxWriter.this);
+            }
+        });
+        return pending;
+    }
+
+    private void write(List<OutboxRow> rows) {
+        // Identity order is the publish order, so rows go in as the changes were made
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows, rows.size(), (statement, row) -> {
+            statement.setString(1, row.user.getId().toString());
+            statement.setString(2, row.type.name());
+            statement.setString(3, row.payload);
+            statement.setTimestamp(4, Timestamp.valueOf(row.createdAt));
+        });
+    }
+
+    private OutboxRow toRow(UserChangedEvent event) {
+        UserDTO user = event.getCurrent() != null ? event.getCurrent() : event.getPrevious();
+        try {
+            return new OutboxRow(user, event.getType(), objectMapper.writeValueAsString(user),
+                    LocalDateTime.now().truncatedTo(ChronoUnit.MICROS));
+        } catch (JsonProcessingException e) {
+            // Failing here rolls the user change back rather than losing the event
+            throw new IllegalStateException("Failed to serialize user change for the outbox", e);
+        }
+    }
+
+    private static class OutboxRow {
+        private final UserDTO user;
+        private final UserChangedEvent.ChangeType type;
+        private final String payload;
+        private final LocalDateTime createdAt;
+
+        private OutboxRow(UserDTO user, UserChangedEvent.ChangeType type, String payload, LocalDateTime createdAt) {
+            this.user = user;
+            this.type = type;
+            this.payload = payload;
+            this.createdAt = createdAt;
+        }
+    }
+}
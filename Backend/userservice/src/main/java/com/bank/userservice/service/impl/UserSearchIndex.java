@@ -0,0 +1,166 @@
+package com.bank.userservice.service.impl;
+
+import com.bank.userservice.dto.UserChange;
+import com.bank.userservice.dto.UserDTO;
+import com.bank.userservice.event.UserChangedEvent;
+import com.bank.userservice.exception.ServiceBusyException;
+import com.bank.userservice.repository.UserRepository;
+import com.bank.userservice.util.TrigramIndex;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Stream;
+
+// Substring search over username, email and phone number of active users, held in memory
+@Component
+public class UserSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserSearchIndex.class);
+
+    private final UserRepository userRepository;
+    private final int maxMatches;
+    private final long settleMs;
+    private final int refreshBatchSize;
+
+    private volatile TrigramIndex current;
+    private volatile Queue<UserChangedEvent> pending;
+
+    // Position in the (updatedAt, id) change order up to which every replica's writes have been applied
+    private volatile LocalDateTime refreshedUpTo;
+    private volatile UUID refreshedAfterId;
+
+    public UserSearchIndex(
+            UserRepository userRepository,
+            @Value("${user.search.max-matches:1000}") int maxMatches,
+            @Value("${user.changes.settle-ms:5000}") long settleMs,
+            @Value("${user.search.refresh-batch-size:500}") int refreshBatchSize) {
+        this.userRepository = userRepository;
+        this.maxMatches = maxMatches;
+        this.settleMs = settleMs;
+        this.refreshBatchSize = refreshBatchSize;
+    }
+
+    public TrigramIndex.Result search(String query) {
+        TrigramIndex index = current;
+        if (index == null) {
+            throw new ServiceBusyException("User search index is still loading");
+        }
+        return index.search(query, maxMatches);
+    }
+
+    // Only committed changes are searchable; changes made during a rebuild are replayed onto the new index
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        accept(event);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void build() {
+        // Changes committed while the scan runs are read again by refresh; applying one twice is harmless
+        refreshedUpTo = settledUntil();
+        refreshedAfterId = new UUID(0, 0);
+        rebuild();
+    }
+
+    // Other replicas' writes are read in the (updatedAt, id) order of GET /changes, held back by the settle
+    // window so a late commit is not skipped. Own writes come round again and are re-applied unchanged.
+    @Scheduled(initialDelayString = "${user.search.refresh-interval-ms:2000}",
+            fixedDelayString = "${user.search.refresh-interval-ms:2000}")
+    @Transactional(readOnly = true)
+    public void refresh() {
+        if (current == null || refreshedUpTo == null) {
+            return;
+        }
+        LocalDateTime until = settledUntil();
+        List<UserChange> changes;
+        do {
+            changes = userRepository.findChangesAfter(refreshedUpTo, refreshedAfterId, until,
+                    PageRequest.of(0, refreshBatchSize));
+            for (UserChange change : changes) {
+                UserDTO user = change.getUser();
+                accept(change.isDeleted() ? UserChangedEvent.deleted(null, user) : UserChangedEvent.updated(null, user));
+                refreshedUpTo = user.getUpdatedAt();
+                refreshedAfterId = user.getId();
+            }
+        } while (changes.size() == refreshBatchSize);
+    }
+
+    private void accept(UserChangedEvent event) {
+        Queue<UserChangedEvent> queue = pending;
+        if (queue != null) {
+            queue.add(event);
+        }
+        TrigramIndex index = current;
+        if (index != null) {
+            apply(index, event);
+        }
+    }
+
+    // Periodic rebuild drops stale postings left by updates and deletes
+    @Scheduled(initialDelayString = "${user.search.rebuild-interval-ms:3600000}",
+            fixedDelayString = "${user.search.rebuild-interval-ms:3600000}")
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+        TrigramIndex index = new TrigramIndex(3, 1024);
+        Queue<UserChangedEvent> queue = new ConcurrentLinkedQueue<>();
+        pending = queue;
+        try (Stream<UserDTO> users = userRepository.streamAllActive()) {
+            users.forEach(user -> index.add(user.getId(), user.getUsername(), user.getEmail(), user.getPhoneNumber()));
+            index.trimToSize();
+            UserChangedEvent event;
+            while ((event = queue.poll()) != null) {
+                apply(index, event);
+            }
+            current = index;
+        } catch (RuntimeException e) {
+            logger.error("Failed to build user search index: {}", e.getMessage());
+            return;
+        } finally {
+            pending = null;
+        }
+        // Events that raced the swap above were applied to the old index only
+        UserChangedEvent event;
+        while ((event = queue.poll()) != null) {
+            apply(index, event);
+        }
+
+        logger.info("User search index built with {} users and {} trigrams in {} ms (~{} MB)",
+                index.size(), index.getTrigramCount(), System.currentTimeMillis() - started,
+                index.getEstimatedSizeInBytes() / (1024 * 1024));
+    }
+
+    private LocalDateTime settledUntil() {
+        return LocalDateTime.now().minusNanos(settleMs * 1_000_000);
+    }
+
+    private static void apply(TrigramIndex index, UserChangedEvent event) {
+        UserDTO previous = event.getPrevious();
+        UserDTO user = event.getCurrent();
+        // Removing first keeps a replayed CREATED from duplicating a row the scan already read. Changes read
+        // back from the database carry no previous state, so the current email also serves as a hint.
+        index.remove(user != null ? user.getId() : previous.getId(),
+                previous != null ? previous.getUsername() : null,
+                user != null ? user.getUsername() : null,
+                user != null ? user.getEmail() : null);
+        if (user != null && event.getType() != UserChangedEvent.ChangeType.DELETED) {
+            index.add(user.getId(), user.getUsername(), user.getEmail(), user.getPhoneNumber());
+        }
+    }
+}
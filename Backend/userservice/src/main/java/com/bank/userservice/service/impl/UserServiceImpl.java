@@ -1,142 +1,401 @@
 package com.bank.userservice.service.impl;
 
+import com.bank.userservice.dto.BatchLookupResult;
 import com.bank.userservice.dto.CreateUserRequest;
+import com.bank.userservice.dto.CursorPage;
+import com.bank.userservice.dto.SearchPage;
 import com.bank.userservice.dto.UpdateUserRequest;
+import com.bank.userservice.dto.UserChange;
 import com.bank.userservice.dto.UserDTO;
 import com.bank.userservice.entity.User;
+import com.bank.userservice.entity.UserArchive;
 import com.bank.userservice.entity.UserRole;
 import com.bank.userservice.entity.UserStatus;
+import com.bank.userservice.event.UserChangedEvent;
+import com.bank.userservice.exception.BadRequestException;
+import com.bank.userservice.exception.InvalidCredentialsException;
 import com.bank.userservice.exception.ResourceNotFoundException;
+import com.bank.userservice.exception.ServiceBusyException;
 import com.bank.userservice.exception.UserAlreadyExistsException;
 import com.bank.userservice.mapper.UserMapper;
+import com.bank.userservice.repository.UserArchiveRepository;
 import com.bank.userservice.repository.UserRepository;
 import com.bank.userservice.service.AuditService;
+import com.bank.userservice.service.UserCache;
 import com.bank.userservice.service.UserService;
+import com.bank.userservice.util.CursorUtil;
+import com.bank.userservice.util.TrigramIndex;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
 public class UserServiceImpl implements UserService {private final UserRepository userRepository;
     private final UserMapper userMapper;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
+    private final TransactionTemplate transactionTemplate;
+    private final UserCache userCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final UserAvailabilityFilter availabilityFilter;
+    private final UserSearchIndex searchIndex;
+    private final UserArchiveRepository userArchiveRepository;
+
+    private static final Logger logger = LoggerFactory.getLogger(UserServiceImpl.class);
+
+    @Value("${user.pagination.default-size:50}")
+    private int defaultPageSize;
+
+    @Value("${user.pagination.max-size:500}")
+    private int maxPageSize;
+
+    @Value("${user.batch-lookup.max-keys:10000}")
+    private int batchLookupMaxKeys;
+
+    // SQL Server accepts at most 2100 parameters per statement
+    @Value("${user.batch-lookup.chunk-size:2000}")
+    private int batchLookupChunkSize;
+
+    @Value("${user.changes.settle-ms:5000}")
+    private long changesSettleMs;
 
     public UserServiceImpl(
             UserRepository userRepository,
             UserMapper userMapper,
-            PasswordEncoder passwordEncoder) {
+            PasswordHasher passwordHasher,
+            TransactionTemplate transactionTemplate,
+            UserCache userCache,
+            ApplicationEventPublisher eventPublisher,
+            UserAvailabilityFilter availabilityFilter,
+            UserSearchIndex searchIndex,
+            UserArchiveRepository userArchiveRepository) {
         this.userRepository = userRepository;
         this.userMapper = userMapper;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHasher = passwordHasher;
+        this.transactionTemplate = transactionTemplate;
+        this.userCache = userCache;
+        this.eventPublisher = eventPublisher;
+        this.availabilityFilter = availabilityFilter;
+        this.searchIndex = searchIndex;
+        this.userArchiveRepository = userArchiveRepository;
     }
 
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public UserDTO createUser(CreateUserRequest request) {
-        // Check if username exists
-        if (userRepository.existsByUsername(request.getUsername())) {
-            throw new UserAlreadyExistsException("Username already exists");
+        // Encode password before the transaction so no connection is held during BCrypt
+        String passwordHash = passwordHasher.hash(request.getPassword());
+        
+        try {
+            // No pre-check SELECTs: the unique constraints decide, which also holds under concurrent signups
+            return transactionTemplate.execute(status -> {
+                // Create new user entity
+                User user = userMapper.toEntity(request);
+                user.setPassword(passwordHash);
+                
+                // Save user; flush so a duplicate key surfaces here rather than at commit
+                User savedUser = userRepository.saveAndFlush(user);
+                
+                // Return user DTO
+                UserDTO createdUser = userMapper.toDto(savedUser);
+                eventPublisher.publishEvent(UserChangedEvent.created(createdUser));
+                return createdUser;
+            });
+        } catch (DataIntegrityViolationException e) {
+            throw duplicateUser(e, null, request.getUsername());
         }
+    }    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public UserDTO getUserById(UUID id) {
+        // Cache hits never open a transaction or touch the connection pool
+        return userCache.getById(id).orElseGet(() -> {
+            UserDTO user = userRepository.findDtoById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
+            
+            return cache(user);
+        });
+    }
 
-        // Check if email exists
-        if (userRepository.existsByEmail(request.getEmail())) {
-            throw new UserAlreadyExistsException("Email already exists");
-        }
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public UserDTO getUserByUsername(String username) {
+        return userCache.getByUsername(username).orElseGet(() -> {
+            UserDTO user = userRepository.findDtoByUsername(username)
+                    .orElseThrow(() -> new ResourceNotFoundException("User not found with username: " + username));
+            
+            return cache(user);
+        });
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public UserDTO getUserByEmail(String email) {
+        return userCache.getByEmail(email).orElseGet(() -> {
+            UserDTO user = userRepository.findDtoByEmail(email)
+                    .orElseThrow(() -> new ResourceNotFoundException("User not found with email: " + email));
+            
+            return cache(user);
+        });
+    }
 
-        // Create new user entity
-        User user = userMapper.toEntity(request);
+    @Override
+    @Transactional(readOnly = true)
+    public BatchLookupResult lookupUsers(Collection<UUID> ids, Collection<String> usernames) {
+        Set<UUID> requestedIds = ids == null ? Set.of() : new LinkedHashSet<>(ids);
+        Set<String> requestedUsernames = usernames == null ? Set.of() : new LinkedHashSet<>(usernames);
+        if (requestedIds.contains(null) || requestedUsernames.contains(null)) {
+            throw new BadRequestException("Batch lookup keys must not be null");
+        }
+        if (requestedIds.size() + requestedUsernames.size() > batchLookupMaxKeys) {
+            throw new BadRequestException("Batch lookup is limited to " + batchLookupMaxKeys + " keys");
+        }
         
-        // Encode password
-        user.setPassword(passwordEncoder.encode(request.getPassword()));
+        // Cached users are answered in memory; only misses go to the database, in chunked IN queries
+        Map<UUID, UserDTO> byId = new HashMap<>();
+        List<UUID> missingIds = new ArrayList<>();
+        for (UUID id : requestedIds) {
+            userCache.getById(id).ifPresentOrElse(user -> byId.put(id, user), () -> missingIds.add(id));
+        }
+        for (List<UUID> chunk : chunks(missingIds)) {
+            userRepository.findDtosByIds(chunk).forEach(user -> byId.put(user.getId(), cache(user)));
+        }
         
-        // Save user
-        User savedUser = userRepository.save(user);
+        // Matched the way SQL Server's case-insensitive collation matches them
+        Map<String, UserDTO> byUsername = new HashMap<>();
+        List<String> missingUsernames = new ArrayList<>();
+        for (String username : requestedUsernames) {
+            userCache.getByUsername(username).ifPresentOrElse(
+                    user -> byUsername.put(normalize(username), user), () -> missingUsernames.add(username));
+        }
+        for (List<String> chunk : chunks(missingUsernames)) {
+            userRepository.findDtosByUsernames(chunk)
+                    .forEach(user -> byUsername.put(normalize(user.getUsername()), cache(user)));
+        }
         
-        // Return user DTO
-        return userMapper.toDto(savedUser);
-    }    @Override
+        // Every requested key appears exactly once: in the result map or in its not-found list
+        Map<UUID, UserDTO> users = new LinkedHashMap<>();
+        List<UUID> notFound = new ArrayList<>();
+        for (UUID id : requestedIds) {
+            UserDTO user = byId.get(id);
+            if (user != null) {
+                users.put(id, user);
+            } else {
+                notFound.add(id);
+            }
+        }
+        Map<String, UserDTO> usersByUsername = new LinkedHashMap<>();
+        List<String> notFoundUsernames = new ArrayList<>();
+        for (String username : requestedUsernames) {
+            UserDTO user = byUsername.get(normalize(username));
+            if (user != null) {
+                usersByUsername.put(username, user);
+            } else {
+                notFoundUsernames.add(username);
+            }
+        }
+        return new BatchLookupResult(users, notFound, usersByUsername, notFoundUsernames);
+    }
+
+    @Override
     @Transactional(readOnly = true)
-    public UserDTO getUserById(UUID id) {
-        User user = userRepository.findByIdAndIsDeletedFalse(id)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
+    public CursorPage<UserDTO> getUsers(String cursor, Integer size) {
+        int pageSize = resolvePageSize(size);
+        // Fetch one extra row to know whether another page exists
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
         
-        return userMapper.toDto(user);
+        List<UserDTO> users;
+        if (cursor == null || cursor.isBlank()) {
+            users = userRepository.findFirstPage(limit);
+        } else {
+            CursorUtil.Cursor after = CursorUtil.decode(cursor);
+            users = userRepository.findPageAfter(after.getTimestamp(), after.getId(), limit);
+        }
+        
+        String nextCursor = null;
+        if (users.size() > pageSize) {
+            users = users.subList(0, pageSize);
+            UserDTO last = users.get(pageSize - 1);
+            nextCursor = CursorUtil.encode(last.getCreatedAt(), last.getId());
+        }
+        return new CursorPage<>(users, nextCursor, users.size());
     }
 
     @Override
     @Transactional(readOnly = true)
-    public UserDTO getUserByUsername(String username) {
-        User user = userRepository.findByUsernameAndIsDeletedFalse(username)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found with username: " + username));
-        
-        return userMapper.toDto(user);
+    public void streamAllUsers(Consumer<UserDTO> consumer) {
+        // Rows arrive as DTOs, so nothing accumulates in the persistence context and memory stays flat
+        try (Stream<UserDTO> users = userRepository.streamAllActive()) {
+            users.forEach(consumer);
+        }
     }
 
     @Override
     @Transactional(readOnly = true)
-    public UserDTO getUserByEmail(String email) {
-        User user = userRepository.findByEmailAndIsDeletedFalse(email)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found with email: " + email));
+    public CursorPage<UserDTO> getUsersByRole(UserRole role, String cursor, Integer size) {
+        int pageSize = resolvePageSize(size);
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
         
-        return userMapper.toDto(user);
+        List<UserDTO> users;
+        if (cursor == null || cursor.isBlank()) {
+            users = userRepository.findFirstPageByRole(role, limit);
+        } else {
+            CursorUtil.Cursor after = CursorUtil.decode(cursor);
+            users = userRepository.findPageByRoleAfter(role, after.getTimestamp(), after.getId(), limit);
+        }
+        
+        String nextCursor = null;
+        if (users.size() > pageSize) {
+            users = users.subList(0, pageSize);
+            UserDTO last = users.get(pageSize - 1);
+            nextCursor = CursorUtil.encode(last.getCreatedAt(), last.getId());
+        }
+        return new CursorPage<>(users, nextCursor, users.size());
     }
 
     @Override
-    @Transactional(readOnly = true)
-    public List<UserDTO> getAllUsers() {
-        return userRepository.findByIsDeletedFalse().stream()
-                .map(userMapper::toDto)
-                .collect(Collectors.toList());
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public SearchPage<UserDTO> searchUsers(String query, Integer page, Integer size) {
+        if (query == null || query.isBlank()) {
+            throw new BadRequestException("Search query must not be blank");
+        }
+        int pageNumber = page == null ? 0 : page;
+        if (pageNumber < 0) {
+            throw new BadRequestException("Page must not be negative");
+        }
+        int pageSize = resolvePageSize(size);
+        
+        // Ranking happens in memory; only the requested page is loaded, in one query
+        TrigramIndex.Result result = searchIndex.search(query);
+        List<UUID> ids = result.getIds();
+        int from = (int) Math.min((long) pageNumber * pageSize, ids.size());
+        List<UUID> pageIds = ids.subList(from, Math.min(from + pageSize, ids.size()));
+        
+        List<UserDTO> content = List.of();
+        if (!pageIds.isEmpty()) {
+            Map<UUID, UserDTO> users = userRepository.findDtosByIds(pageIds).stream()
+                    .collect(Collectors.toMap(UserDTO::getId, Function.identity()));
+            content = pageIds.stream()
+                    .map(users::get)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toList());
+        }
+        return new SearchPage<>(content, pageNumber, pageSize, ids.size(), result.isTruncated());
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<UserDTO> getUsersByRole(UserRole role) {
-        return userRepository.findByIsDeletedFalse().stream()
-                .filter(user -> user.getRole() == role)
-                .map(userMapper::toDto)
-                .collect(Collectors.toList());
+    public CursorPage<UserChange> getChanges(LocalDateTime since, String cursor, Integer size) {
+        int pageSize = resolvePageSize(size);
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+        // updatedAt is stamped before commit, so a row can become visible behind rows already handed out;
+        // holding back rows younger than the settle window lets those transactions commit first
+        LocalDateTime until = LocalDateTime.now().minusNanos(changesSettleMs * 1_000_000);
+        
+        List<UserChange> changes;
+        if (cursor != null && !cursor.isBlank()) {
+            CursorUtil.Cursor after = CursorUtil.decode(cursor);
+            changes = userRepository.findChangesAfter(after.getTimestamp(), after.getId(), until, limit);
+        } else {
+            changes = userRepository.findChangesSince(since != null ? since : LocalDateTime.of(1970, 1, 1, 0, 0),
+                    until, limit);
+        }
+        
+        boolean hasNext = changes.size() > pageSize;
+        if (hasNext) {
+            changes = changes.subList(0, pageSize);
+        }
+        // Always hand back a cursor so replicas can resume from where they stopped, even on an empty page
+        String nextCursor = cursor;
+        if (!changes.isEmpty()) {
+            UserDTO last = changes.get(changes.size() - 1).getUser();
+            nextCursor = CursorUtil.encode(last.getUpdatedAt(), last.getId());
+        }
+        CursorPage<UserChange> page = new CursorPage<>(changes, nextCursor, changes.size());
+        page.setHasNext(hasNext);
+        return page;
     }
 
     @Override
-    public UserDTO updateUser(UUID id, UpdateUserRequest request) {
-        User user = userRepository.findByIdAndIsDeletedFalse(id)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public UserDTO verifyCredentials(String username, String password) {
+        // In-process only: exposing this over HTTP needs authentication and rate limiting in front of it
+        // Read outside a transaction so no connection is held during BCrypt
+        User user = userRepository.findByUsername(username).filter(u -> !u.isDeleted()).orElse(null);
+        String storedHash = user != null ? user.getPassword() : null;
         
-        // Check username uniqueness if it's changing
-        if (request.getUsername() != null && !request.getUsername().equals(user.getUsername())) {
-            if (userRepository.existsByUsername(request.getUsername())) {
-                throw new UserAlreadyExistsException("Username already exists");
-            }
+        // An unknown user costs the same BCrypt run as a wrong password
+        if (!passwordHasher.matches(password, storedHash)) {
+            throw new InvalidCredentialsException("Invalid username or password");
         }
         
-        // Check email uniqueness if it's changing
-        if (request.getEmail() != null && !request.getEmail().equals(user.getEmail())) {
-            if (userRepository.existsByEmail(request.getEmail())) {
-                throw new UserAlreadyExistsException("Email already exists");
-            }
+        // The raw password is only available here: re-hash legacy or low-cost hashes now
+        try {
+            passwordHasher.upgradeIfNeeded(password, storedHash).ifPresent(newHash ->
+                    transactionTemplate.executeWithoutResult(status ->
+                            userRepository.updatePasswordHash(user.getId(), storedHash, newHash)));
+        } catch (ServiceBusyException e) {
+            // The hash still verifies; the next successful check retries the upgrade
+            logger.debug("Skipped password hash upgrade for user {}: {}", user.getId(), e.getMessage());
         }
-        
-        // Process password if provided
+        return userMapper.toDto(user);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public UserDTO updateUser(UUID id, UpdateUserRequest request) {
+        // Process password if provided, before the transaction starts
         if (request.getPassword() != null) {
-            request.setPassword(passwordEncoder.encode(request.getPassword()));
+            request.setPassword(passwordHasher.hash(request.getPassword()));
         }
         
-        // Update user entity
-        userMapper.updateEntityFromDto(request, user);
-        
-        // Save updated user
-        User updatedUser = userRepository.save(user);
-        
-        // Return updated user DTO
-        return userMapper.toDto(updatedUser);
+        try {
+            return transactionTemplate.execute(status -> {
+                User user = userRepository.findByIdAndIsDeletedFalse(id)
+                        .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
+                
+                UserDTO previous = userMapper.toDto(user);
+                
+                // Update user entity
+                userMapper.updateEntityFromDto(request, user);
+                
+                // Save updated user; flush so @PreUpdate has set updatedAt and a changed
+                // username or email that collides with another user fails here
+                User updatedUser = userRepository.saveAndFlush(user);
+                
+                // Return updated user DTO
+                UserDTO updatedDto = userMapper.toDto(updatedUser);
+                eventPublisher.publishEvent(UserChangedEvent.updated(previous, updatedDto));
+                return updatedDto;
+            });
+        } catch (DataIntegrityViolationException e) {
+            throw duplicateUser(e, id, request.getUsername());
+        }
     }
 
     @Override
@@ -144,18 +403,103 @@ public class UserServiceImpl implements UserService {private final UserRepositor
         User user = userRepository.findByIdAndIsDeletedFalse(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
         
+        UserDTO previous = userMapper.toDto(user);
+        
         // Soft delete - set isDeleted to true
         user.setDeleted(true);
-        userRepository.save(user);
+        User deletedUser = userRepository.saveAndFlush(user);
+        eventPublisher.publishEvent(UserChangedEvent.deleted(previous, userMapper.toDto(deletedUser)));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public UserDTO restoreUser(UUID id) {
+        try {
+            return transactionTemplate.execute(status -> {
+                // Not archived yet: undelete in place
+                Optional<User> deleted = userRepository.findByIdAndIsDeletedTrue(id);
+                if (deleted.isPresent()) {
+                    User user = deleted.get();
+                    user.setDeleted(false);
+                    UserDTO restored = userMapper.toDto(userRepository.saveAndFlush(user));
+                    eventPublisher.publishEvent(UserChangedEvent.created(restored));
+                    return restored;
+                }
+                
+                // The username or email may have been taken since archiving; the unique constraints decide
+                if (userRepository.restoreFromArchive(id, LocalDateTime.now()) == 0) {
+                    throw new ResourceNotFoundException("Deleted user not found with id: " + id);
+                }
+                userArchiveRepository.deleteAllByIdInBatch(List.of(id));
+                UserDTO restored = userRepository.findDtoById(id).orElseThrow();
+                // Consumers that dropped the user on DELETED see it come back as a new user
+                eventPublisher.publishEvent(UserChangedEvent.created(restored));
+                return restored;
+            });
+        } catch (DataIntegrityViolationException e) {
+            throw duplicateUser(e, id, userArchiveRepository.findById(id).map(UserArchive::getUsername).orElse(null));
+        }
     }    @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public boolean existsByUsername(String username) {
+        // Definite misses are answered from the Bloom filter; possible hits are confirmed in the database
+        if (availabilityFilter.isUsernameDefinitelyFree(username)) {
+            return false;
+        }
         return userRepository.existsByUsername(username);
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public boolean existsByEmail(String email) {
+        if (availabilityFilter.isEmailDefinitelyFree(email)) {
+            return false;
+        }
         return userRepository.existsByEmail(email);
     }
+
+    // Maps a unique-key violation to the field that caused it, using the constraint name in the driver message
+    private UserAlreadyExistsException duplicateUser(DataIntegrityViolationException e, UUID userId, String username) {
+        String message = String.valueOf(e.getMostSpecificCause().getMessage()).toLowerCase(Locale.ROOT);
+        if (message.contains(User.USERNAME_CONSTRAINT)) {
+            return new UserAlreadyExistsException("Username already exists", e);
+        }
+        if (message.contains(User.EMAIL_CONSTRAINT)) {
+            return new UserAlreadyExistsException("Email already exists", e);
+        }
+        // Constraint created under another name (e.g. by an older schema); one lookup settles which field clashed
+        if (username != null && userRepository.findByUsername(username)
+                .filter(user -> !user.getId().equals(userId))
+                .isPresent()) {
+            return new UserAlreadyExistsException("Username already exists", e);
+        }
+        return new UserAlreadyExistsException("Email already exists", e);
+    }
+
+    private UserDTO cache(UserDTO user) {
+        userCache.put(user);
+        return user;
+    }
+
+    private <T> List<List<T>> chunks(List<T> keys) {
+        List<List<T>> chunks = new ArrayList<>();
+        for (int from = 0; from < keys.size(); from += batchLookupChunkSize) {
+            chunks.add(keys.subList(from, Math.min(from + batchLookupChunkSize, keys.size())));
+        }
+        return chunks;
+    }
+
+    private static String normalize(String value) {
+        return value.stripTrailing().toLowerCase(Locale.ROOT);
+    }
+
+    private int resolvePageSize(Integer size) {
+        if (size == null) {
+            return defaultPageSize;
+        }
+        if (size < 1) {
+            throw new BadRequestException("Page size must be at least 1");
+        }
+        return Math.min(size, maxPageSize);
+    }
 }
@@ -0,0 +1,58 @@
+package com.bank.userservice.util;
+
+import com.bank.userservice.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+public class CursorUtil {
+
+    private static final char SEPARATOR = '|';
+
+    private CursorUtil() {
+        // Private constructor to prevent instantiation
+    }
+
+    // Opaque keyset cursor: base64url("<timestamp>|<id>")
+    public static String encode(LocalDateTime timestamp, UUID id) {
+        String raw = timestamp.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static Cursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new BadRequestException("Invalid cursor: " + cursor);
+            }
+            return new Cursor(
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    UUID.fromString(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BadRequestException("Invalid cursor: " + cursor, e);
+        }
+    }
+
+    public static class Cursor {
+        private final LocalDateTime timestamp;
+        private final UUID id;
+
+        public Cursor(LocalDateTime timestamp, UUID id) {
+            this.timestamp = timestamp;
+            this.id = id;
+        }
+
+        public LocalDateTime getTimestamp() {
+            return timestamp;
+        }
+
+        public UUID getId() {
+            return id;
+        }
+    }
+}
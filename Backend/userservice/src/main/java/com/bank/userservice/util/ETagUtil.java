@@ -0,0 +1,71 @@
+package com.bank.userservice.util;
+
+import com.bank.userservice.dto.UserDTO;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collection;
+
+public class ETagUtil {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private ETagUtil() {
+        // Private constructor to prevent instantiation
+    }
+
+    // Weak validators: the ApiResponse envelope carries its own timestamp, so bodies are never byte-identical.
+    // A user's representation only changes when @PreUpdate moves updatedAt.
+    public static String of(UserDTO user) {
+        return "W/\"" + Long.toHexString(mix(FNV_OFFSET, user)) + "\"";
+    }
+
+    // Page metadata that is not derived from the listed users (next cursor, totals) goes into extra
+    public static String of(Collection<UserDTO> users, Object... extra) {
+        long hash = FNV_OFFSET;
+        for (UserDTO user : users) {
+            hash = mix(hash, user);
+        }
+        for (Object value : extra) {
+            hash = step(hash, value == null ? 0 : value.hashCode());
+        }
+        return "W/\"" + users.size() + "-" + Long.toHexString(hash) + "\"";
+    }
+
+    // Each Accept header and fieldset is its own representation of the same users, so it gets its own validator
+    public static String forVariant(String eTag, String... variant) {
+        long hash = FNV_OFFSET;
+        boolean plain = true;
+        for (String part : variant) {
+            hash = step(hash, part == null ? 0 : part.hashCode());
+            plain &= part == null;
+        }
+        return plain ? eTag : eTag.substring(0, eTag.length() - 1) + "-" + Long.toHexString(hash) + "\"";
+    }
+
+    // updatedAt is written in the server's zone; -1 means "unknown" to Spring's conditional request checks
+    public static long lastModified(UserDTO user) {
+        LocalDateTime updatedAt = user.getUpdatedAt() != null ? user.getUpdatedAt() : user.getCreatedAt();
+        return updatedAt == null ? -1 : updatedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static long mix(long hash, UserDTO user) {
+        hash = step(hash, user.getId().getMostSignificantBits());
+        hash = step(hash, user.getId().getLeastSignificantBits());
+        LocalDateTime updatedAt = user.getUpdatedAt();
+        if (updatedAt != null) {
+            hash = step(hash, updatedAt.toLocalDate().toEpochDay());
+            hash = step(hash, updatedAt.toLocalTime().toNanoOfDay());
+        }
+        return hash;
+    }
+
+    private static long step(long hash, long value) {
+        for (int i = 0; i < 8; i++) {
+            hash ^= (value >>> (i * 8)) & 0xff;
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+}
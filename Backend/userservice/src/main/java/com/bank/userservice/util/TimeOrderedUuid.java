@@ -0,0 +1,47 @@
+package com.bank.userservice.util;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+// UUIDs that SQL Server's uniqueidentifier index keeps in creation order, so inserts append to the
+// clustered primary key instead of splitting random pages.
+// SQL Server compares a uniqueidentifier by its last six bytes first, then bytes 8-9, then the rest,
+// so the layout differs from RFC 9562 version 7 (which leads with the timestamp) and is marked
+// version 8 (custom):
+//   bytes 0-7   60 random bits, version nibble 8
+//   bytes 8-9   variant bits 10, 14-bit counter ordering ids within the same millisecond
+//   bytes 10-15 Unix epoch milliseconds, big-endian
+public class TimeOrderedUuid {
+
+    private static final int COUNTER_BITS = 14;
+    private static final long COUNTER_MASK = (1L << COUNTER_BITS) - 1;
+    private static final long TIMESTAMP_MASK = (1L << 48) - 1;
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    // (millis << 14 | counter) of the last id; a counter overflow borrows from the next millisecond
+    private static final AtomicLong LAST = new AtomicLong();
+
+    private TimeOrderedUuid() {
+        // Private constructor to prevent instantiation
+    }
+
+    public static UUID next() {
+        long now = System.currentTimeMillis() << COUNTER_BITS;
+        long sequence = LAST.updateAndGet(last -> Math.max(last + 1, now));
+        return of(sequence >>> COUNTER_BITS, sequence & COUNTER_MASK, RANDOM.nextLong());
+    }
+
+    static UUID of(long millis, long counter, long random) {
+        long mostSigBits = (random & ~0xF000L) | 0x8000L;
+        long leastSigBits = 0x8000000000000000L
+                | (counter & COUNTER_MASK) << 48
+                | (millis & TIMESTAMP_MASK);
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    public static long timestampMillis(UUID id) {
+        return id.getLeastSignificantBits() & TIMESTAMP_MASK;
+    }
+}
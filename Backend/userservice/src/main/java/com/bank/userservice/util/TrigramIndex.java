@@ -0,0 +1,416 @@
+package com.bank.userservice.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// In-memory substring index over a fixed number of text fields per document.
+// Each field is indexed as the trigrams of "\u0002\u0002" + field, so queries of three or more
+// characters match anywhere in a field and one- or two-character queries match field prefixes.
+// Removed documents leave stale postings behind; searches skip them and a rebuild drops them.
+public class TrigramIndex {
+
+    private static final char FIELD_START = '\u0002';
+    private static final char FIELD_SEPARATOR = '\n';
+
+    private static final int EXACT = 3;
+    private static final int PREFIX = 2;
+    private static final int SUBSTRING = 1;
+
+    private static final int MAX_SKEW = 16;
+
+    private final int fieldCount;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Postings> postings = new HashMap<>();
+
+    // Document slots; texts[doc] == null marks a removed document
+    private long[] idHigh;
+    private long[] idLow;
+    private String[] texts;
+    private int docCount;
+    private int liveCount;
+
+    public TrigramIndex(int fieldCount, int expectedDocuments) {
+        this.fieldCount = fieldCount;
+        int capacity = Math.max(16, expectedDocuments);
+        this.idHigh = new long[capacity];
+        this.idLow = new long[capacity];
+        this.texts = new String[capacity];
+    }
+
+    public void add(UUID id, String... fields) {
+        if (fields.length != fieldCount) {
+            throw new IllegalArgumentException("Expected " + fieldCount + " fields but got " + fields.length);
+        }
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) {
+                text.append(FIELD_SEPARATOR);
+            }
+            text.append(normalize(fields[i]));
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (docCount == texts.length) {
+                int capacity = Math.max(16, texts.length + (texts.length >> 1));
+                idHigh = Arrays.copyOf(idHigh, capacity);
+                idLow = Arrays.copyOf(idLow, capacity);
+                texts = Arrays.copyOf(texts, capacity);
+            }
+            int doc = docCount++;
+            idHigh[doc] = id.getMostSignificantBits();
+            idLow[doc] = id.getLeastSignificantBits();
+            texts[doc] = text.toString();
+            liveCount++;
+            for (int i = 0; i < fields.length; i++) {
+                for (long gram : fieldGrams(normalize(fields[i]))) {
+                    postings.computeIfAbsent(gram, key -> new Postings()).add(doc);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Finds the document through the postings of a field value it was indexed with, so no id map is needed.
+    // Returns false when no live document with this id contains any of the hints.
+    public boolean remove(UUID id, String... hints) {
+        lock.writeLock().lock();
+        try {
+            for (String hint : hints) {
+                if (hint == null || hint.isEmpty()) {
+                    continue;
+                }
+                Postings candidates = null;
+                for (long gram : fieldGrams(normalize(hint))) {
+                    Postings list = postings.get(gram);
+                    if (list == null) {
+                        candidates = null;
+                        break;
+                    }
+                    if (candidates == null || list.size < candidates.size) {
+                        candidates = list;
+                    }
+                }
+                if (candidates == null) {
+                    continue;
+                }
+                for (int i = candidates.size - 1; i >= 0; i--) {
+                    int doc = candidates.docs[i];
+                    if (texts[doc] != null
+                            && idHigh[doc] == id.getMostSignificantBits()
+                            && idLow[doc] == id.getLeastSignificantBits()) {
+                        texts[doc] = null;
+                        liveCount--;
+                        return true;
+                    }
+                }
+            }
+            return false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Ranked by match quality (exact, prefix, substring), then by field order, then by shorter field,
+    // then by insertion order.
+    // Every candidate is scored; the best maxMatches are kept, and the result is reported as truncated
+    // when more documents matched. One- and two-character queries are the exception: their single prefix
+    // trigram can cover a large share of all documents, so they stop at the first maxMatches live matches.
+    public Result search(String query, int maxMatches) {
+        String q = normalize(query);
+        if (q.isEmpty()) {
+            return new Result(List.of(), false);
+        }
+        long[] grams = queryGrams(q);
+        boolean capped = q.length() < 3;
+
+        lock.readLock().lock();
+        try {
+            Postings[] lists = new Postings[grams.length];
+            for (int i = 0; i < grams.length; i++) {
+                lists[i] = postings.get(grams[i]);
+                if (lists[i] == null) {
+                    return new Result(List.of(), false);
+                }
+            }
+            // Drive the intersection from the rarest trigram
+            Arrays.sort(lists, Comparator.comparingInt(list -> list.size));
+            Postings driver = lists[0];
+            // Seeking into lists far longer than the driver costs more than verifying the candidate,
+            // which re-checks the whole query anyway
+            int intersect = 1;
+            while (intersect < lists.length && lists[intersect].size <= (long) driver.size * MAX_SKEW) {
+                intersect++;
+            }
+            int[] cursors = new int[intersect];
+
+            // (score << 32 | ~doc): higher ranks better, older documents first on ties. The heap keeps the
+            // best maxMatches seen so far with the worst of them at the root.
+            long[] heap = new long[Math.max(0, Math.min(maxMatches, driver.size))];
+            int matchCount = 0;
+            boolean truncated = false;
+            outer:
+            for (int i = 0; i < driver.size; i++) {
+                int doc = driver.docs[i];
+                for (int l = 1; l < intersect; l++) {
+                    cursors[l] = lists[l].seek(doc, cursors[l]);
+                    if (cursors[l] == lists[l].size) {
+                        break outer;
+                    }
+                    if (lists[l].docs[cursors[l]] != doc) {
+                        continue outer;
+                    }
+                }
+                String text = texts[doc];
+                if (text == null) {
+                    continue;
+                }
+                int score = score(text, q);
+                if (score == 0) {
+                    continue;
+                }
+                long rank = ((long) score << 32) | (~doc & 0xFFFFFFFFL);
+                if (matchCount < heap.length) {
+                    heap[matchCount] = rank;
+                    siftUp(heap, matchCount++);
+                } else {
+                    truncated = true;
+                    if (capped) {
+                        break;
+                    }
+                    if (matchCount > 0 && rank > heap[0]) {
+                        heap[0] = rank;
+                        siftDown(heap, matchCount);
+                    }
+                }
+            }
+
+            Arrays.sort(heap, 0, matchCount);
+            // A document re-added while a rebuild replays changes can appear twice; keep the best-ranked
+            Set<UUID> ids = new LinkedHashSet<>();
+            for (int i = matchCount - 1; i >= 0; i--) {
+                int doc = ~(int) heap[i];
+                ids.add(new UUID(idHigh[doc], idLow[doc]));
+            }
+            return new Result(new ArrayList<>(ids), truncated);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int getTrigramCount() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Releases the growth headroom left by a bulk build
+    public void trimToSize() {
+        lock.writeLock().lock();
+        try {
+            idHigh = Arrays.copyOf(idHigh, docCount);
+            idLow = Arrays.copyOf(idLow, docCount);
+            texts = Arrays.copyOf(texts, docCount);
+            postings.values().forEach(Postings::trimToSize);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Approximate retained heap, assuming compressed oops and Latin-1 strings
+    public long getEstimatedSizeInBytes() {
+        lock.readLock().lock();
+        try {
+            long bytes = 16L * texts.length + 4L * texts.length;
+            for (int doc = 0; doc < docCount; doc++) {
+                if (texts[doc] != null) {
+                    bytes += 24 + 16 + texts[doc].length();
+                }
+            }
+            for (Postings list : postings.values()) {
+                // HashMap node, boxed key, Postings object and array header
+                bytes += 32 + 16 + 16 + 16 + 4L * list.docs.length;
+            }
+            return bytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static void siftUp(long[] heap, int index) {
+        long rank = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (heap[parent] <= rank) {
+                break;
+            }
+            heap[index] = heap[parent];
+            index = parent;
+        }
+        heap[index] = rank;
+    }
+
+    private static void siftDown(long[] heap, int size) {
+        long rank = heap[0];
+        int index = 0;
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && heap[child + 1] < heap[child]) {
+                child++;
+            }
+            if (heap[child] >= rank) {
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = rank;
+    }
+
+    // Packs match quality, field order and (inverted) field length into one comparable int
+    private int score(String text, String q) {
+        int best = 0;
+        int start = 0;
+        for (int field = 0; field < fieldCount; field++) {
+            int end = text.indexOf(FIELD_SEPARATOR, start);
+            if (end < 0) {
+                end = text.length();
+            }
+            int length = end - start;
+            int quality = 0;
+            if (length == q.length() && text.startsWith(q, start)) {
+                quality = EXACT;
+            } else if (length > q.length() && text.startsWith(q, start)) {
+                quality = PREFIX;
+            } else if (q.length() >= 3) {
+                int at = text.indexOf(q, start);
+                if (at >= 0 && at + q.length() <= end) {
+                    quality = SUBSTRING;
+                }
+            }
+            // Earlier fields outrank later ones at the same match quality, then shorter fields win
+            int score = quality == 0 ? 0 : (quality * 16 + (fieldCount - field)) << 16 | (0xFFFF - Math.min(length, 0xFFFF));
+            best = Math.max(best, score);
+            start = end + 1;
+        }
+        return best;
+    }
+
+    private static long[] queryGrams(String q) {
+        if (q.length() == 1) {
+            return new long[] { gram(FIELD_START, FIELD_START, q.charAt(0)) };
+        }
+        if (q.length() == 2) {
+            return new long[] { gram(FIELD_START, q.charAt(0), q.charAt(1)) };
+        }
+        return Arrays.stream(substringGrams(q)).distinct().toArray();
+    }
+
+    private static long[] fieldGrams(String field) {
+        if (field.isEmpty()) {
+            return new long[0];
+        }
+        return substringGrams("" + FIELD_START + FIELD_START + field);
+    }
+
+    private static long[] substringGrams(String value) {
+        int count = Math.max(0, value.length() - 2);
+        long[] grams = new long[count];
+        for (int i = 0; i < count; i++) {
+            grams[i] = gram(value.charAt(i), value.charAt(i + 1), value.charAt(i + 2));
+        }
+        return grams;
+    }
+
+    private static long gram(char a, char b, char c) {
+        return ((long) a << 32) | ((long) b << 16) | c;
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.strip().toLowerCase(Locale.ROOT);
+    }
+
+    public static class Result {
+        private final List<UUID> ids;
+        private final boolean truncated;
+
+        public Result(List<UUID> ids, boolean truncated) {
+            this.ids = ids;
+            this.truncated = truncated;
+        }
+
+        public List<UUID> getIds() {
+            return ids;
+        }
+
+        public boolean isTruncated() {
+            return truncated;
+        }
+    }
+
+    // Ascending document ids; documents are only ever appended, so adds keep the order
+    private static class Postings {
+        private int[] docs = new int[4];
+        private int size;
+
+        private void add(int doc) {
+            if (size > 0 && docs[size - 1] == doc) {
+                return;
+            }
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size + (size >> 1) + 1);
+            }
+            docs[size++] = doc;
+        }
+
+        // Index of the first entry >= doc at or after from: a few linear steps for nearby targets,
+        // then galloping and binary search for distant ones
+        private int seek(int doc, int from) {
+            int limit = Math.min(size, from + 8);
+            while (from < limit && docs[from] < doc) {
+                from++;
+            }
+            if (from < limit || from == size) {
+                return from;
+            }
+            int bound = 1;
+            int low = from;
+            while (low + bound < size && docs[low + bound] < doc) {
+                low += bound;
+                bound <<= 1;
+            }
+            int high = Math.min(size, low + bound + 1);
+            int index = Arrays.binarySearch(docs, low, high, doc);
+            return index >= 0 ? index : -index - 1;
+        }
+
+        private void trimToSize() {
+            docs = Arrays.copyOf(docs, size);
+        }
+    }
+}
@@ -35,15 +35,17 @@ public class ValidationUtil {
     }
 
     public void validateEmailNotTakenByOthers(UUID userId, String email) {
-        if (userRepository.findByEmail(email).isPresent() &&
-                !userRepository.findByEmail(email).get().getId().equals(userId)) {
+        if (userRepository.findByEmail(email)
+                .filter(user -> !user.getId().equals(userId))
+                .isPresent()) {
             throw new UserAlreadyExistsException("Email already in use: " + email);
         }
     }
 
     public void validateUsernameNotTakenByOthers(UUID userId, String username) {
-        if (userRepository.findByUsername(username).isPresent() &&
-                !userRepository.findByUsername(username).get().getId().equals(userId)) {
+        if (userRepository.findByUsername(username)
+                .filter(user -> !user.getId().equals(userId))
+                .isPresent()) {
             throw new UserAlreadyExistsException("Username already taken: " + username);
         }
     }
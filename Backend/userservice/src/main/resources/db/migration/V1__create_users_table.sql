@@ -0,0 +1,17 @@
+-- Baseline: the users table as Hibernate's ddl-auto=update created it before migrations took over.
+-- Databases that already have it are baselined at version 1, skip this script and run V2 onwards.
+-- The unique constraints keep database-generated names here; V3 renames them.
+
+CREATE TABLE users (
+    id           UNIQUEIDENTIFIER NOT NULL,
+    created_at   DATETIME2(6)     NOT NULL,
+    email        VARCHAR(255)     NOT NULL UNIQUE,
+    is_deleted   BIT              NOT NULL,
+    password     VARCHAR(255)     NOT NULL,
+    phone_number VARCHAR(255),
+    role         VARCHAR(255)     NOT NULL CHECK (role IN ('DONOR', 'HOSPITAL_ADMIN', 'BLOODBANK_ADMIN', 'SYSTEM_ADMIN')),
+    status       VARCHAR(255)     NOT NULL CHECK (status IN ('ACTIVE', 'INACTIVE')),
+    updated_at   DATETIME2(6),
+    username     VARCHAR(255)     NOT NULL UNIQUE,
+    PRIMARY KEY (id)
+);
@@ -0,0 +1,29 @@
+-- Keyset listing, role listing and delta-sync indexes, the archive of purged soft-deleted users,
+-- and the transactional outbox of user change events
+
+CREATE INDEX idx_users_deleted_created_at_id ON users (is_deleted, created_at, id);
+CREATE INDEX idx_users_role_deleted_created_at_id ON users (role, is_deleted, created_at, id);
+CREATE INDEX idx_users_updated_at_id ON users (updated_at, id);
+
+CREATE TABLE users_archive (
+    id           UNIQUEIDENTIFIER NOT NULL,
+    username     VARCHAR(255)     NOT NULL,
+    email        VARCHAR(255)     NOT NULL,
+    password     VARCHAR(255)     NOT NULL,
+    phone_number VARCHAR(255),
+    role         VARCHAR(255)     NOT NULL CHECK (role IN ('DONOR', 'HOSPITAL_ADMIN', 'BLOODBANK_ADMIN', 'SYSTEM_ADMIN')),
+    status       VARCHAR(255)     NOT NULL CHECK (status IN ('ACTIVE', 'INACTIVE')),
+    created_at   DATETIME2(6)     NOT NULL,
+    updated_at   DATETIME2(6),
+    archived_at  DATETIME2(6)     NOT NULL,
+    CONSTRAINT pk_users_archive PRIMARY KEY (id)
+);
+
+CREATE TABLE user_outbox (
+    id         BIGINT IDENTITY  NOT NULL,
+    user_id    UNIQUEIDENTIFIER NOT NULL,
+    event_type VARCHAR(255)     NOT NULL CHECK (event_type IN ('CREATED', 'UPDATED', 'DELETED')),
+    payload    VARCHAR(MAX)     NOT NULL,
+    created_at DATETIME2(6)     NOT NULL,
+    CONSTRAINT pk_user_outbox PRIMARY KEY (id)
+);
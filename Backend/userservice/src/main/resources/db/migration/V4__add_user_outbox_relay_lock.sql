@@ -0,0 +1,8 @@
+-- Single row locked by whichever replica is relaying the outbox, so only one publishes at a time
+
+CREATE TABLE user_outbox_lock (
+    name VARCHAR(50) NOT NULL,
+    CONSTRAINT pk_user_outbox_lock PRIMARY KEY (name)
+);
+
+INSERT INTO user_outbox_lock (name) VALUES ('relay');
@@ -0,0 +1,161 @@
+package com.bank.userservice.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import com.bank.userservice.dto.BatchLookupRequest;
+import com.bank.userservice.dto.BatchLookupResult;
+import com.bank.userservice.dto.CreateUserRequest;
+import com.bank.userservice.dto.UserDTO;
+import com.bank.userservice.entity.UserRole;
+import com.bank.userservice.exception.BadRequestException;
+import com.bank.userservice.repository.UserRepository;
+import com.bank.userservice.service.UserService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class BatchLookupTests {
+
+	@Autowired
+	private WebApplicationContext context;
+
+	@Autowired
+	private UserService userService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private MockMvc mockMvc;
+
+	private Statistics statistics;
+
+	@BeforeEach
+	void setUp() {
+		mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+		userRepository.deleteAll();
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+	}
+
+	@Test
+	void idsAndUsernamesAreAnsweredInOneRequest() throws Exception {
+		UserDTO first = create("batch1");
+		create("batch2");
+		UserDTO deleted = create("batch3");
+		userService.deleteUser(deleted.getId());
+		UUID unknown = UUID.randomUUID();
+
+		BatchLookupRequest request = new BatchLookupRequest(List.of(first.getId(), unknown, deleted.getId()),
+				List.of("batch2", "nobody", "batch3"));
+		mockMvc.perform(post("/api/users/batch")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(objectMapper.writeValueAsString(request)))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.data.users.length()").value(1))
+				.andExpect(jsonPath("$.data.users['" + first.getId() + "'].username").value("batch1"))
+				.andExpect(jsonPath("$.data.notFound.length()").value(2))
+				.andExpect(jsonPath("$.data.notFound[0]").value(unknown.toString()))
+				.andExpect(jsonPath("$.data.notFound[1]").value(deleted.getId().toString()))
+				.andExpect(jsonPath("$.data.usernames.length()").value(1))
+				.andExpect(jsonPath("$.data.usernames.batch2.username").value("batch2"))
+				.andExpect(jsonPath("$.data.notFoundUsernames[0]").value("nobody"))
+				.andExpect(jsonPath("$.data.notFoundUsernames[1]").value("batch3"));
+	}
+
+	@Test
+	void cachedUsersAreKeyedByTheRequestedSpelling() {
+		UserDTO user = create("batch4");
+		userService.lookupUsers(List.of(), List.of("batch4"));
+
+		statistics.clear();
+		BatchLookupResult result = userService.lookupUsers(List.of(user.getId()), List.of("BATCH4 "));
+
+		assertEquals(0, statistics.getPrepareStatementCount());
+		assertEquals(user.getId(), result.getUsers().get(user.getId()).getId());
+		assertEquals(user.getId(), result.getUsernames().get("BATCH4 ").getId());
+	}
+
+	@Test
+	void missesAreQueriedInChunks() {
+		List<UUID> ids = IntStream.range(0, 7).mapToObj(i -> create("chunk" + i).getId()).collect(Collectors.toList());
+		// Other users than the ids, which the id lookup would have cached
+		List<String> usernames = IntStream.range(7, 11).mapToObj(i -> create("chunk" + i).getUsername())
+				.collect(Collectors.toList());
+
+		Object service = AopTestUtils.getTargetObject(userService);
+		Object chunkSize = ReflectionTestUtils.getField(service, "batchLookupChunkSize");
+		ReflectionTestUtils.setField(service, "batchLookupChunkSize", 3);
+		try {
+			statistics.clear();
+			BatchLookupResult result = userService.lookupUsers(ids, usernames);
+
+			// 3 + 3 + 1 ids and 3 + 1 usernames
+			assertEquals(5, statistics.getPrepareStatementCount());
+			assertEquals(7, result.getUsers().size());
+			assertEquals(4, result.getUsernames().size());
+		} finally {
+			ReflectionTestUtils.setField(service, "batchLookupChunkSize", chunkSize);
+		}
+	}
+
+	@Test
+	void defaultChunksStayUnderSqlServersParameterLimit() {
+		List<UUID> ids = new ArrayList<>();
+		for (int i = 0; i < 2101; i++) {
+			ids.add(UUID.randomUUID());
+		}
+
+		statistics.clear();
+		BatchLookupResult result = userService.lookupUsers(ids, List.of());
+
+		assertEquals(2, statistics.getPrepareStatementCount());
+		assertEquals(2101, result.getNotFound().size());
+	}
+
+	@Test
+	void nullKeysAndOversizedBatchesAreRejected() {
+		List<String> withNull = new ArrayList<>();
+		withNull.add(null);
+		assertThrows(BadRequestException.class, () -> userService.lookupUsers(List.of(), withNull));
+
+		List<UUID> tooMany = IntStream.range(0, 10001).mapToObj(i -> UUID.randomUUID()).collect(Collectors.toList());
+		assertThrows(BadRequestException.class, () -> userService.lookupUsers(tooMany, List.of()));
+	}
+
+	private UserDTO create(String username) {
+		return userService.createUser(new CreateUserRequest(username, username + "@example.com", "password123",
+				"5550100000", UserRole.DONOR));
+	}
+
+}
@@ -0,0 +1,183 @@
+package com.bank.userservice.controller;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import com.bank.userservice.dto.CreateUserRequest;
+import com.bank.userservice.dto.UpdateUserRequest;
+import com.bank.userservice.dto.UserDTO;
+import com.bank.userservice.entity.UserRole;
+import com.bank.userservice.repository.UserRepository;
+import com.bank.userservice.service.UserService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// MockMvc is built from the shared context rather than through @AutoConfigureMockMvc, which would start another
+@SpringBootTest
+@ActiveProfiles("test")
+class ConditionalRequestTests {
+
+	@Autowired
+	private WebApplicationContext context;
+
+	@Autowired
+	private UserService userService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	private MockMvc mockMvc;
+
+	@BeforeEach
+	void setUp() {
+		mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+		userRepository.deleteAll();
+	}
+
+	@Test
+	void matchingETagGetsNotModifiedWithoutABody() throws Exception {
+		UserDTO user = create("etag");
+		String eTag = mockMvc.perform(get("/api/users/{id}", user.getId()))
+				.andExpect(status().isOk())
+				.andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+				.andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT))
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+		mockMvc.perform(get("/api/users/{id}", user.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+				.andExpect(status().isNotModified())
+				.andExpect(content().string(""));
+
+		UpdateUserRequest update = new UpdateUserRequest();
+		update.setPhoneNumber("5550100999");
+		userService.updateUser(user.getId(), update);
+		mockMvc.perform(get("/api/users/{id}", user.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.data.phoneNumber").value("5550100999"));
+	}
+
+	@Test
+	void eTagDiffersPerAcceptHeaderAndFieldset() throws Exception {
+		UserDTO user = create("variant");
+
+		String json = eTag(get("/api/users/{id}", user.getId()));
+		String cbor = eTag(get("/api/users/{id}", user.getId()).header(HttpHeaders.ACCEPT, "application/cbor"));
+		String fields = eTag(get("/api/users/{id}", user.getId()).param("fields", "id,username"));
+
+		assertNotEquals(json, cbor);
+		assertNotEquals(json, fields);
+		assertNotEquals(cbor, fields);
+		// A JSON validator must not answer a CBOR request
+		mockMvc.perform(get("/api/users/{id}", user.getId())
+						.header(HttpHeaders.ACCEPT, "application/cbor")
+						.header(HttpHeaders.IF_NONE_MATCH, json))
+				.andExpect(status().isOk());
+	}
+
+	@Test
+	void collectionsCarryAnETagButNoLastModified() throws Exception {
+		create("list1");
+		UserDTO second = create("list2");
+
+		String eTag = mockMvc.perform(get("/api/users"))
+				.andExpect(status().isOk())
+				.andExpect(header().exists(HttpHeaders.ETAG))
+				.andExpect(header().doesNotExist(HttpHeaders.LAST_MODIFIED))
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		mockMvc.perform(get("/api/users").header(HttpHeaders.IF_NONE_MATCH, eTag))
+				.andExpect(status().isNotModified());
+		mockMvc.perform(get("/api/users/role/{role}", UserRole.DONOR))
+				.andExpect(header().doesNotExist(HttpHeaders.LAST_MODIFIED));
+
+		// Deleting a user leaves the newest updatedAt of the remaining list unchanged; the ETag still moves
+		userService.deleteUser(second.getId());
+		mockMvc.perform(get("/api/users").header(HttpHeaders.IF_NONE_MATCH, eTag))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.data.content", hasSize(1)));
+	}
+
+	@Test
+	void changeFeedPagesByCursorAndReportsDeletions() throws Exception {
+		UserDTO first = create("feed1");
+		create("feed2");
+		create("feed3");
+
+		JsonNode page = changes(null);
+		assertEquals(2, page.get("content").size());
+		assertTrue(page.get("hasNext").booleanValue());
+		Set<String> seen = usernames(page);
+
+		page = changes(page.get("nextCursor").textValue());
+		assertEquals(1, page.get("content").size());
+		assertFalse(page.get("hasNext").booleanValue());
+		seen.addAll(usernames(page));
+		assertEquals(Set.of("feed1", "feed2", "feed3"), seen);
+
+		// Nothing new: the same cursor comes back so a replica can keep polling with it
+		String cursor = page.get("nextCursor").textValue();
+		page = changes(cursor);
+		assertEquals(0, page.get("content").size());
+		assertEquals(cursor, page.get("nextCursor").textValue());
+
+		userService.deleteUser(first.getId());
+		page = changes(cursor);
+		assertEquals(Set.of("feed1"), usernames(page));
+		assertTrue(page.get("content").get(0).get("deleted").booleanValue());
+		assertNotEquals(cursor, page.get("nextCursor").textValue());
+	}
+
+	private JsonNode changes(String cursor) throws Exception {
+		MockHttpServletRequestBuilder request = get("/api/users/changes").param("size", "2");
+		if (cursor != null) {
+			request.param("cursor", cursor);
+		}
+		String body = mockMvc.perform(request)
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+		JsonNode page = objectMapper.readTree(body).get("data");
+		assertNotNull(page.get("nextCursor").textValue());
+		return page;
+	}
+
+	private static Set<String> usernames(JsonNode page) {
+		Set<String> usernames = new HashSet<>();
+		page.get("content").forEach(change -> usernames.add(change.get("user").get("username").textValue()));
+		return usernames;
+	}
+
+	private String eTag(RequestBuilder request) throws Exception {
+		return mockMvc.perform(request).andExpect(status().isOk()).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+	}
+
+	private UserDTO create(String username) {
+		return userService.createUser(new CreateUserRequest(username, username + "@example.com", "password123",
+				"5550100000", UserRole.DONOR));
+	}
+
+}
@@ -0,0 +1,160 @@
+package com.bank.userservice.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import com.bank.userservice.dto.CreateUserRequest;
+import com.bank.userservice.dto.UserDTO;
+import com.bank.userservice.entity.UserRole;
+import com.bank.userservice.repository.UserRepository;
+import com.bank.userservice.service.UserService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class SerializationTests {
+
+	private static final Set<String> ALL_FIELDS = Set.of("id", "username", "email", "phoneNumber", "role", "status",
+			"createdAt", "updatedAt");
+
+	@Autowired
+	private WebApplicationContext context;
+
+	@Autowired
+	private UserService userService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	private MockMvc mockMvc;
+
+	private UserDTO user;
+
+	@BeforeEach
+	void setUp() {
+		mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+		userRepository.deleteAll();
+		user = userService.createUser(new CreateUserRequest("format", "format@example.com", "password123",
+				"5550100000", UserRole.DONOR));
+	}
+
+	@Test
+	void fieldsParameterTrimsEveryUser() throws Exception {
+		assertEquals(ALL_FIELDS, fieldNames(json(get("/api/users/{id}", user.getId())).get("data")));
+		assertEquals(Set.of("id", "username"),
+				fieldNames(json(get("/api/users/{id}", user.getId()).param("fields", "id, username")).get("data")));
+
+		// The envelope and the page around the users are left alone
+		JsonNode page = json(get("/api/users").param("fields", "email")).get("data");
+		assertTrue(page.has("nextCursor"));
+		assertEquals(Set.of("email"), fieldNames(page.get("content").get(0)));
+	}
+
+	@Test
+	void unknownFieldIsABadRequest() throws Exception {
+		mockMvc.perform(get("/api/users/{id}", user.getId()).param("fields", "id,password"))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.success").value(false))
+				.andExpect(jsonPath("$.message").value("Unknown field: password"));
+	}
+
+	@Test
+	void smileAndCborAreNegotiatedFromAccept() throws Exception {
+		ObjectMapper smileMapper = new ObjectMapper(new SmileFactory()).findAndRegisterModules();
+		JsonNode smile = binary("application/x-jackson-smile", smileMapper, null);
+		assertEquals(ALL_FIELDS, fieldNames(smile.get("data")));
+		// UUIDs go out as 16 raw bytes in the binary formats
+		assertEquals(user.getId(), smileMapper.treeToValue(smile.get("data"), UserDTO.class).getId());
+
+		JsonNode cbor = binary("application/cbor", new ObjectMapper(new CBORFactory()), "id,role");
+		assertEquals(Set.of("id", "role"), fieldNames(cbor.get("data")));
+		assertEquals("DONOR", cbor.get("data").get("role").asText());
+
+		// JSON stays the default
+		mockMvc.perform(get("/api/users/{id}", user.getId()).header(HttpHeaders.ACCEPT, MediaType.ALL_VALUE))
+				.andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+	}
+
+	@Test
+	void streamAndImportStillSerializeWithoutAFilter() throws Exception {
+		List<JsonNode> streamed = ndjson(mockMvc.perform(get("/api/users/stream"))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString());
+		assertEquals(1, streamed.size());
+		assertEquals(ALL_FIELDS, fieldNames(streamed.get(0)));
+
+		String rows = "{\"username\":\"imported\",\"email\":\"imported@example.com\",\"password\":\"Password@123\","
+				+ "\"phoneNumber\":\"5550100000\",\"role\":\"DONOR\"}\n"
+				+ "{\"username\":\"x\"}\n";
+		List<JsonNode> results = ndjson(mockMvc.perform(post("/api/users/import")
+						.contentType(MediaType.APPLICATION_NDJSON)
+						.content(rows))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString());
+		assertEquals(2, results.size());
+		assertEquals("CREATED", results.get(0).get("status").asText());
+		assertEquals(1, results.get(0).get("row").asLong());
+		assertEquals("INVALID", results.get(1).get("status").asText());
+	}
+
+	private JsonNode json(RequestBuilder request) throws Exception {
+		return objectMapper.readTree(mockMvc.perform(request)
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString());
+	}
+
+	private JsonNode binary(String mediaType, ObjectMapper reader, String fields) throws Exception {
+		byte[] body = mockMvc.perform(get("/api/users/{id}", user.getId())
+						.header(HttpHeaders.ACCEPT, mediaType)
+						.param("fields", fields == null ? "" : fields))
+				.andExpect(status().isOk())
+				.andExpect(content().contentTypeCompatibleWith(mediaType))
+				.andReturn().getResponse().getContentAsByteArray();
+		return reader.readTree(body);
+	}
+
+	private List<JsonNode> ndjson(String body) throws Exception {
+		List<JsonNode> lines = new ArrayList<>();
+		for (String line : body.split("\n")) {
+			if (!line.isBlank()) {
+				lines.add(objectMapper.readTree(line));
+			}
+		}
+		return lines;
+	}
+
+	private static Set<String> fieldNames(JsonNode node) {
+		Set<String> names = new HashSet<>();
+		node.fieldNames().forEachRemaining(names::add);
+		return names;
+	}
+
+}
@@ -0,0 +1,75 @@
+package com.bank.userservice.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.bank.userservice.dto.AuditEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class AuditSpillFileTests {
+
+	private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void rejectedBatchIsRetriedInPlaceAheadOfNewerSpills() {
+		AuditSpillFile spillFile = new AuditSpillFile(objectMapper, directory.resolve("audit.ndjson").toString(), 1 << 20);
+		spillFile.append(events(0, 5));
+
+		// The audit service takes the first batch, then goes down
+		List<String> delivered = new ArrayList<>();
+		int[] accepted = { 1 };
+		spillFile.replay(2, batch -> {
+			if (accepted[0]-- <= 0) {
+				return false;
+			}
+			batch.forEach(event -> delivered.add(event.getEntityId()));
+			return true;
+		});
+		assertEquals(List.of("0", "1"), delivered);
+
+		spillFile.append(events(5, 7));
+		spillFile.replay(2, batch -> false);
+		spillFile.replay(2, batch -> {
+			batch.forEach(event -> delivered.add(event.getEntityId()));
+			return true;
+		});
+		assertEquals(List.of("0", "1", "2", "3", "4"), delivered);
+
+		// Spilled during the outage, replayed once the older backlog is done
+		assertTrue(spillFile.hasPending());
+		spillFile.replay(2, batch -> {
+			batch.forEach(event -> delivered.add(event.getEntityId()));
+			return true;
+		});
+		assertEquals(List.of("0", "1", "2", "3", "4", "5", "6"), delivered);
+		assertFalse(spillFile.hasPending());
+	}
+
+	@Test
+	void appendIsRefusedBeyondTheSizeCap() {
+		AuditSpillFile spillFile = new AuditSpillFile(objectMapper, directory.resolve("audit.ndjson").toString(), 1000);
+
+		assertTrue(spillFile.append(events(0, 1)));
+		assertFalse(spillFile.append(events(1, 50)));
+	}
+
+	private static List<AuditEvent> events(int from, int to) {
+		return IntStream.range(from, to)
+				.mapToObj(i -> new AuditEvent(null, "CREATE", "USER", Integer.toString(i), "event " + i))
+				.collect(Collectors.toList());
+	}
+
+}
@@ -0,0 +1,53 @@
+package com.bank.userservice.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import com.bank.userservice.dto.UserDTO;
+import com.bank.userservice.entity.UserRole;
+import com.bank.userservice.entity.UserStatus;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class LocalUserCacheTests {
+
+	private static final LocalDateTime CREATED = LocalDateTime.of(2026, 1, 1, 0, 0);
+
+	private final LocalUserCache cache = new LocalUserCache(new SimpleMeterRegistry(), 1000, 300);
+
+	@Test
+	void staleReadIsNotCachedAfterTheUpdateEvictedIt() {
+		UUID id = UUID.randomUUID();
+		UserDTO before = user(id, "donor", CREATED);
+		UserDTO after = user(id, "donor", CREATED.plusMinutes(1));
+
+		// A reader loaded the row before the update committed and caches it after the eviction
+		cache.evict(after);
+		cache.put(before);
+
+		assertTrue(cache.getById(id).isEmpty());
+
+		cache.put(after);
+		assertEquals(after.getUpdatedAt(), cache.getById(id).orElseThrow().getUpdatedAt());
+	}
+
+	@Test
+	void usernameAndEmailLookupsIgnoreCaseAndTrailingSpaces() {
+		UUID id = UUID.randomUUID();
+		cache.put(user(id, "Donor", CREATED));
+
+		assertEquals(id, cache.getByUsername("donor ").orElseThrow().getId());
+		assertEquals(id, cache.getByEmail("DONOR@example.com").orElseThrow().getId());
+	}
+
+	private static UserDTO user(UUID id, String username, LocalDateTime updatedAt) {
+		return new UserDTO(id, username, username + "@example.com", "5550100", UserRole.DONOR, UserStatus.ACTIVE,
+				CREATED, updatedAt);
+	}
+
+}
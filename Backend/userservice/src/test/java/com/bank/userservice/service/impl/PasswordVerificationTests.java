@@ -0,0 +1,87 @@
+package com.bank.userservice.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.bank.userservice.dto.CreateUserRequest;
+import com.bank.userservice.dto.UserDTO;
+import com.bank.userservice.entity.User;
+import com.bank.userservice.entity.UserRole;
+import com.bank.userservice.exception.InvalidCredentialsException;
+import com.bank.userservice.repository.UserRepository;
+import com.bank.userservice.service.UserService;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class PasswordVerificationTests {
+
+	private static final String PASSWORD = "password123";
+
+	@Autowired
+	private UserService userService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	private UserDTO user;
+
+	@BeforeEach
+	void setUp() {
+		userRepository.deleteAll();
+		user = userService.createUser(new CreateUserRequest("donor", "donor@example.com", PASSWORD, "5550100",
+				UserRole.DONOR));
+	}
+
+	@Test
+	void successfulVerificationUpgradesALegacyHash() {
+		String legacyHash = storeLegacyHash();
+
+		UserDTO verified = userService.verifyCredentials("donor", PASSWORD);
+
+		assertEquals(user.getId(), verified.getId());
+		String storedHash = storedHash();
+		assertTrue(storedHash.startsWith("{bcrypt}"), storedHash);
+		assertTrue(!storedHash.equals(legacyHash));
+		// The upgraded hash still verifies
+		userService.verifyCredentials("donor", PASSWORD);
+	}
+
+	@Test
+	void wrongPasswordIsRejectedWithoutTouchingTheHash() {
+		String legacyHash = storeLegacyHash();
+
+		assertThrows(InvalidCredentialsException.class, () -> userService.verifyCredentials("donor", "wrong-password"));
+
+		assertEquals(legacyHash, storedHash());
+	}
+
+	@Test
+	void unknownUserIsRejectedLikeAWrongPassword() {
+		InvalidCredentialsException unknown = assertThrows(InvalidCredentialsException.class,
+				() -> userService.verifyCredentials("nobody", PASSWORD));
+		InvalidCredentialsException wrong = assertThrows(InvalidCredentialsException.class,
+				() -> userService.verifyCredentials("donor", "wrong-password"));
+
+		assertEquals(wrong.getMessage(), unknown.getMessage());
+	}
+
+	// Unprefixed, as written before the delegating encoder
+	private String storeLegacyHash() {
+		User entity = userRepository.findById(user.getId()).orElseThrow();
+		entity.setPassword(new BCryptPasswordEncoder(4).encode(PASSWORD));
+		return userRepository.save(entity).getPassword();
+	}
+
+	private String storedHash() {
+		return userRepository.findById(user.getId()).orElseThrow().getPassword();
+	}
+
+}
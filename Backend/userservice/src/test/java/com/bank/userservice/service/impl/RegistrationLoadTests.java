@@ -0,0 +1,119 @@
+package com.bank.userservice.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.bank.userservice.dto.CreateUserRequest;
+import com.bank.userservice.entity.User;
+import com.bank.userservice.entity.UserRole;
+import com.bank.userservice.mapper.UserMapper;
+import com.bank.userservice.repository.UserRepository;
+import com.bank.userservice.service.UserService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+// Concurrent registrations against a 4-connection pool at the production BCrypt cost, once through createUser
+// and once hashing inside the transaction as the service used to. Needs its own context for those two settings.
+@SpringBootTest(properties = {
+		"security.password.bcrypt-strength=10",
+		"spring.datasource.hikari.maximum-pool-size=4"
+})
+@ActiveProfiles("test")
+class RegistrationLoadTests {
+
+	private static final int THREADS = 16;
+	private static final int REQUESTS = 96;
+
+	@Autowired
+	private UserService userService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private UserMapper userMapper;
+
+	@Autowired
+	private PasswordEncoder passwordEncoder;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@BeforeEach
+	void setUp() {
+		userRepository.deleteAll();
+	}
+
+	@Test
+	void hashingOutsideTheTransactionKeepsThePoolFree() throws Exception {
+		Result inside = run("inside", request -> transactionTemplate.executeWithoutResult(status -> {
+			User user = userMapper.toEntity(request);
+			user.setPassword(passwordEncoder.encode(request.getPassword()));
+			userRepository.saveAndFlush(user);
+		}));
+		Result outside = run("outside", userService::createUser);
+
+		assertEquals(2 * REQUESTS, userRepository.count());
+		// Inside the transaction, 12 of the 16 callers queue for a connection while 4 others hash
+		assertTrue(outside.meanAcquireMs * 4 < inside.meanAcquireMs,
+				"Pool wait with hashing outside the transaction: " + outside + ", inside: " + inside);
+	}
+
+	private Result run(String prefix, Consumer<CreateUserRequest> register) throws Exception {
+		Timer acquire = meterRegistry.get("hikaricp.connections.acquire").timer();
+		long acquireCount = acquire.count();
+		double acquireMs = acquire.totalTime(TimeUnit.MILLISECONDS);
+
+		List<Callable<Long>> registrations = new ArrayList<>();
+		for (int i = 0; i < REQUESTS; i++) {
+			CreateUserRequest request = new CreateUserRequest(prefix + i, prefix + i + "@example.com",
+					"password123", "5550100000", UserRole.DONOR);
+			registrations.add(() -> {
+				long started = System.nanoTime();
+				register.accept(request);
+				return System.nanoTime() - started;
+			});
+		}
+
+		List<Long> latencies = new ArrayList<>();
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		try {
+			for (Future<Long> latency : executor.invokeAll(registrations)) {
+				latencies.add(latency.get());
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+		Collections.sort(latencies);
+
+		double meanAcquireMs = (acquire.totalTime(TimeUnit.MILLISECONDS) - acquireMs) / (acquire.count() - acquireCount);
+		long p99Ms = TimeUnit.NANOSECONDS.toMillis(latencies.get((int) Math.ceil(latencies.size() * 0.99) - 1));
+		return new Result(meanAcquireMs, p99Ms);
+	}
+
+	private record Result(double meanAcquireMs, long p99Ms) {
+	}
+
+}
@@ -0,0 +1,106 @@
+package com.bank.userservice.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.bank.userservice.dto.CreateUserRequest;
+import com.bank.userservice.dto.UserDTO;
+import com.bank.userservice.entity.UserRole;
+import com.bank.userservice.exception.ResourceNotFoundException;
+import com.bank.userservice.exception.UserAlreadyExistsException;
+import com.bank.userservice.repository.UserArchiveRepository;
+import com.bank.userservice.repository.UserRepository;
+import com.bank.userservice.service.UserService;
+
+// The test profile's zero retention makes every soft-deleted user eligible; the test drives archive() itself
+@SpringBootTest
+@ActiveProfiles("test")
+class UserArchiverTests {
+
+	@Autowired
+	private UserService userService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private UserArchiveRepository archiveRepository;
+
+	@Autowired
+	private UserArchiver archiver;
+
+	@BeforeEach
+	void setUp() {
+		archiveRepository.deleteAll();
+		userRepository.deleteAll();
+	}
+
+	@Test
+	void archivesOnlyDeletedUsersAcrossBatches() {
+		UserDTO active = userService.createUser(request("active", "active@example.com"));
+		for (int i = 0; i < 5; i++) {
+			UserDTO user = userService.createUser(request("gone" + i, "gone" + i + "@example.com"));
+			userService.deleteUser(user.getId());
+		}
+
+		archiver.archive();
+
+		assertEquals(1, userRepository.count());
+		assertTrue(userRepository.existsById(active.getId()));
+		assertEquals(5, archiveRepository.count());
+	}
+
+	@Test
+	void restoresArchivedUserWithOriginalIdAndCreatedAt() {
+		UserDTO user = userService.createUser(request("donor", "donor@example.com"));
+		LocalDateTime createdAt = userRepository.findById(user.getId()).orElseThrow().getCreatedAt();
+		userService.deleteUser(user.getId());
+		archiver.archive();
+
+		UserDTO restored = userService.restoreUser(user.getId());
+
+		assertEquals(user.getId(), restored.getId());
+		assertEquals(createdAt, restored.getCreatedAt());
+		assertEquals("donor", userService.getUserById(user.getId()).getUsername());
+		assertFalse(archiveRepository.existsById(user.getId()));
+	}
+
+	@Test
+	void restoreFailsWhenUsernameWasTakenAfterArchiving() {
+		UserDTO user = userService.createUser(request("donor", "donor@example.com"));
+		userService.deleteUser(user.getId());
+		archiver.archive();
+		userService.createUser(request("donor", "new@example.com"));
+
+		UserAlreadyExistsException e = assertThrows(UserAlreadyExistsException.class,
+				() -> userService.restoreUser(user.getId()));
+
+		assertEquals("Username already exists", e.getMessage());
+		assertTrue(archiveRepository.existsById(user.getId()));
+	}
+
+	@Test
+	void restoresDeletedUserNotYetArchived() {
+		UserDTO user = userService.createUser(request("donor", "donor@example.com"));
+		userService.deleteUser(user.getId());
+
+		assertEquals(user.getId(), userService.restoreUser(user.getId()).getId());
+		assertThrows(ResourceNotFoundException.class, () -> userService.restoreUser(UUID.randomUUID()));
+	}
+
+	private static CreateUserRequest request(String username, String email) {
+		return new CreateUserRequest(username, email, "password123", "5550100000", UserRole.DONOR);
+	}
+
+}
@@ -0,0 +1,96 @@
+package com.bank.userservice.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.bank.userservice.dto.CreateUserRequest;
+import com.bank.userservice.dto.UserImportResult;
+import com.bank.userservice.entity.UserOutboxEvent;
+import com.bank.userservice.entity.UserRole;
+import com.bank.userservice.repository.UserOutboxRepository;
+import com.bank.userservice.repository.UserRepository;
+import com.bank.userservice.service.UserImportService;
+import com.bank.userservice.service.UserService;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class UserImportTests {
+
+	@Autowired
+	private UserImportService userImportService;
+
+	@Autowired
+	private UserService userService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private UserOutboxRepository outboxRepository;
+
+	@BeforeEach
+	void setUp() {
+		userRepository.deleteAll();
+		outboxRepository.deleteAll();
+	}
+
+	@Test
+	void existingUsersAreFoundAcrossLookupChunks() throws Exception {
+		userService.createUser(new CreateUserRequest("import4", "import4@example.com", "Password@123", "5550100000",
+				UserRole.DONOR));
+
+		Object service = AopTestUtils.getTargetObject(userImportService);
+		Object chunkSize = ReflectionTestUtils.getField(service, "lookupChunkSize");
+		ReflectionTestUtils.setField(service, "lookupChunkSize", 2);
+		List<UserImportResult> results;
+		try {
+			results = importRows(5);
+		} finally {
+			ReflectionTestUtils.setField(service, "lookupChunkSize", chunkSize);
+		}
+
+		// The existing user sits in the third lookup chunk
+		assertEquals(List.of("CREATED", "CREATED", "CREATED", "CREATED", "DUPLICATE"), results.stream()
+				.map(result -> result.getStatus().name())
+				.collect(Collectors.toList()));
+		assertEquals(5, userRepository.count());
+	}
+
+	@Test
+	void outboxRowsFollowTheImportOrder() throws Exception {
+		List<UserImportResult> results = importRows(4);
+
+		List<UserOutboxEvent> outbox = outboxRepository.findAll().stream()
+				.sorted((a, b) -> Long.compare(a.getId(), b.getId()))
+				.collect(Collectors.toList());
+		assertEquals(results.stream().map(UserImportResult::getUserId).collect(Collectors.toList()),
+				outbox.stream().map(UserOutboxEvent::getUserId).collect(Collectors.toList()));
+	}
+
+	private List<UserImportResult> importRows(int count) throws Exception {
+		StringBuilder rows = new StringBuilder();
+		for (int i = 0; i < count; i++) {
+			rows.append("{\"username\":\"import").append(i)
+					.append("\",\"email\":\"import").append(i)
+					.append("@example.com\",\"password\":\"Password@123\",\"phoneNumber\":\"5550100000\"}\n");
+		}
+		List<UserImportResult> results = new ArrayList<>();
+		userImportService.importUsers(new ByteArrayInputStream(rows.toString().getBytes(StandardCharsets.UTF_8)),
+				UserImportService.Format.NDJSON, results::add);
+		return results;
+	}
+
+}
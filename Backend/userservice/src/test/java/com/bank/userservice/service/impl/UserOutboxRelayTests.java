@@ -0,0 +1,132 @@
+package com.bank.userservice.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.bank.userservice.dto.CreateUserRequest;
+import com.bank.userservice.dto.UpdateUserRequest;
+import com.bank.userservice.dto.UserChangeMessage;
+import com.bank.userservice.dto.UserDTO;
+import com.bank.userservice.entity.UserOutboxLock;
+import com.bank.userservice.entity.UserRole;
+import com.bank.userservice.event.UserChangedEvent.ChangeType;
+import com.bank.userservice.exception.UserAlreadyExistsException;
+import com.bank.userservice.repository.UserOutboxRepository;
+import com.bank.userservice.repository.UserRepository;
+import com.bank.userservice.service.UserService;
+
+// The test profile disables the scheduled relay with a long poll interval; the test drives relay() itself
+@SpringBootTest
+@ActiveProfiles("test")
+class UserOutboxRelayTests {
+
+	@Autowired
+	private UserService userService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private UserOutboxRepository outboxRepository;
+
+	@Autowired
+	private UserOutboxRelay relay;
+
+	@Autowired
+	private InMemoryUserChangePublisher publisher;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@BeforeEach
+	void setUp() {
+		relay.relay();
+		outboxRepository.deleteAll();
+		userRepository.deleteAll();
+		publisher.clear();
+	}
+
+	@Test
+	void changesArePublishedInCommitOrder() {
+		UserDTO user = userService.createUser(request("donor", "donor@example.com"));
+		UpdateUserRequest update = new UpdateUserRequest();
+		update.setPhoneNumber("5550100999");
+		userService.updateUser(user.getId(), update);
+		userService.deleteUser(user.getId());
+
+		relay.relay();
+
+		List<UserChangeMessage> messages = publisher.getPublished();
+		assertEquals(List.of(ChangeType.CREATED, ChangeType.UPDATED, ChangeType.DELETED),
+				messages.stream().map(UserChangeMessage::getType).collect(Collectors.toList()));
+		assertEquals("5550100999", messages.get(1).getUser().getPhoneNumber());
+		assertTrue(messages.get(0).getSequence() < messages.get(1).getSequence());
+		assertTrue(messages.get(1).getSequence() < messages.get(2).getSequence());
+		assertEquals(0, outboxRepository.count());
+	}
+
+	@Test
+	void rolledBackChangesLeaveNoOutboxRow() {
+		userService.createUser(request("donor", "donor@example.com"));
+		assertThrows(UserAlreadyExistsException.class,
+				() -> userService.createUser(request("donor", "other@example.com")));
+
+		assertEquals(1, outboxRepository.count());
+		relay.relay();
+		assertEquals(1, publisher.getPublished().size());
+	}
+
+	// H2 has no SKIP LOCKED, so here the relay waits for the lease instead of skipping the poll
+	@Test
+	void onlyTheLeaseHolderPublishes() throws Exception {
+		userService.createUser(request("donor", "donor@example.com"));
+
+		// Another replica holds the lease for the duration of its batch
+		CountDownLatch leased = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		CompletableFuture<Void> otherReplica = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(
+				status -> {
+					outboxRepository.tryAcquireLease(UserOutboxLock.RELAY).orElseThrow();
+					leased.countDown();
+					await(release);
+				}));
+		assertTrue(leased.await(10, TimeUnit.SECONDS));
+
+		CompletableFuture<Void> relayed = CompletableFuture.runAsync(relay::relay);
+		Thread.sleep(200);
+		assertEquals(0, publisher.getPublished().size());
+
+		release.countDown();
+		otherReplica.get(10, TimeUnit.SECONDS);
+		relayed.get(10, TimeUnit.SECONDS);
+		assertEquals(1, publisher.getPublished().size());
+		assertEquals(0, outboxRepository.count());
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(10, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static CreateUserRequest request(String username, String email) {
+		return new CreateUserRequest(username, email, "password123", "5550100000", UserRole.DONOR);
+	}
+
+}
@@ -0,0 +1,56 @@
+package com.bank.userservice.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.bank.userservice.entity.User;
+import com.bank.userservice.entity.UserRole;
+import com.bank.userservice.repository.UserRepository;
+
+// Rows written through the repository publish no UserChangedEvent, as if another replica had written them
+@SpringBootTest
+@ActiveProfiles("test")
+class UserSearchIndexTests {
+
+	@Autowired
+	private UserSearchIndex searchIndex;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@BeforeEach
+	void setUp() {
+		userRepository.deleteAll();
+	}
+
+	@Test
+	void refreshPicksUpWritesFromOtherReplicas() {
+		User user = userRepository.saveAndFlush(new User("remote-donor", "remote@example.com", "{noop}secret",
+				"5550100000", UserRole.DONOR));
+		assertTrue(searchIndex.search("remote-donor").getIds().isEmpty());
+
+		searchIndex.refresh();
+		assertEquals(List.of(user.getId()), searchIndex.search("remote-donor").getIds());
+
+		// Renamed elsewhere: the old name is found through the unchanged email and removed
+		user.setUsername("renamed-donor");
+		userRepository.saveAndFlush(user);
+		searchIndex.refresh();
+		assertTrue(searchIndex.search("remote-donor").getIds().isEmpty());
+		assertEquals(List.of(user.getId()), searchIndex.search("renamed-donor").getIds());
+
+		user.setDeleted(true);
+		userRepository.saveAndFlush(user);
+		searchIndex.refresh();
+		assertTrue(searchIndex.search("renamed-donor").getIds().isEmpty());
+	}
+
+}
@@ -0,0 +1,111 @@
+package com.bank.userservice.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.bank.userservice.dto.CreateUserRequest;
+import com.bank.userservice.entity.UserRole;
+import com.bank.userservice.exception.UserAlreadyExistsException;
+import com.bank.userservice.repository.UserRepository;
+import com.bank.userservice.service.UserService;
+
+import jakarta.persistence.EntityManagerFactory;
+
+// Runs against H2 in SQL Server mode so the unique constraints are enforced by a real database
+@SpringBootTest
+@ActiveProfiles("test")
+class UserServiceConcurrencyTests {
+
+	private static final int THREADS = 16;
+	private static final int REQUESTS = 200;
+	private static final int DISTINCT_USERS = 10;
+
+	@Autowired
+	private UserService userService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private Statistics statistics;
+
+	@BeforeEach
+	void setUp() {
+		userRepository.deleteAll();
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+	}
+
+	@Test
+	void concurrentSignupsCreateEachUserOnce() throws Exception {
+		List<Callable<Boolean>> signups = new ArrayList<>();
+		for (int i = 0; i < REQUESTS; i++) {
+			int user = i % DISTINCT_USERS;
+			signups.add(() -> {
+				try {
+					userService.createUser(request("donor" + user, "donor" + user + "@example.com"));
+					return true;
+				} catch (UserAlreadyExistsException e) {
+					return false;
+				}
+			});
+		}
+
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		int created = 0;
+		try {
+			for (Future<Boolean> result : executor.invokeAll(signups)) {
+				if (result.get()) {
+					created++;
+				}
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		// One INSERT per request plus one outbox row per created user; the old path issued
+		// two exists queries before every INSERT
+		long statements = statistics.getPrepareStatementCount();
+		assertTrue(statements <= REQUESTS + DISTINCT_USERS,
+				"Expected at most one statement per signup but saw " + statements);
+
+		assertEquals(DISTINCT_USERS, created);
+		assertEquals(DISTINCT_USERS, userRepository.count());
+	}
+
+	@Test
+	void duplicateKeyIsReportedForTheConflictingField() {
+		userService.createUser(request("donor", "donor@example.com"));
+
+		UserAlreadyExistsException username = assertThrows(UserAlreadyExistsException.class,
+				() -> userService.createUser(request("donor", "other@example.com")));
+		assertEquals("Username already exists", username.getMessage());
+
+		UserAlreadyExistsException email = assertThrows(UserAlreadyExistsException.class,
+				() -> userService.createUser(request("other", "donor@example.com")));
+		assertEquals("Email already exists", email.getMessage());
+	}
+
+	private static CreateUserRequest request(String username, String email) {
+		return new CreateUserRequest(username, email, "password123", "5550100", UserRole.DONOR);
+	}
+
+}
@@ -0,0 +1,45 @@
+package com.bank.userservice.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+class TimeOrderedUuidTests {
+
+	@Test
+	void idsIncreaseInSqlServerOrder() {
+		UUID previous = TimeOrderedUuid.next();
+		// Far more ids than the 14-bit counter holds in one millisecond
+		for (int i = 0; i < 100_000; i++) {
+			UUID id = TimeOrderedUuid.next();
+			assertTrue(compareAsSqlServer(previous, id) < 0, previous + " should sort before " + id);
+			previous = id;
+		}
+	}
+
+	@Test
+	void layoutCarriesVersionVariantAndTimestamp() {
+		long before = System.currentTimeMillis();
+		UUID id = TimeOrderedUuid.next();
+
+		assertEquals(8, id.version());
+		assertEquals(2, id.variant());
+		assertTrue(TimeOrderedUuid.timestampMillis(id) >= before);
+		assertEquals("00000000-0000-8000-8001-019a3c4d5e6f",
+				TimeOrderedUuid.of(0x019a3c4d5e6fL, 1, 0).toString());
+	}
+
+	// SQL Server compares uniqueidentifier bytes 10-15 first, then 8-9; the remaining bytes are random here
+	private static int compareAsSqlServer(UUID a, UUID b) {
+		long lastSixA = a.getLeastSignificantBits() & 0xFFFFFFFFFFFFL;
+		long lastSixB = b.getLeastSignificantBits() & 0xFFFFFFFFFFFFL;
+		if (lastSixA != lastSixB) {
+			return Long.compare(lastSixA, lastSixB);
+		}
+		return Long.compare(a.getLeastSignificantBits() >>> 48, b.getLeastSignificantBits() >>> 48);
+	}
+
+}
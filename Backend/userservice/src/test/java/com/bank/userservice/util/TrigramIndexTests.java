@@ -0,0 +1,68 @@
+package com.bank.userservice.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+class TrigramIndexTests {
+
+	@Test
+	void keepsTheBestMatchesWhenMoreDocumentsMatchThanRequested() {
+		TrigramIndex index = new TrigramIndex(3, 16);
+		List<UUID> substringMatches = new ArrayList<>();
+		for (int i = 0; i < 20; i++) {
+			UUID id = UUID.randomUUID();
+			substringMatches.add(id);
+			index.add(id, "the-alice-fan-" + i, "fan" + i + "@example.com", "DONOR");
+		}
+		UUID prefix = UUID.randomUUID();
+		index.add(prefix, "alice.b", "ab@example.com", "DONOR");
+		UUID exact = UUID.randomUUID();
+		index.add(exact, "alice", "alice@example.com", "DONOR");
+
+		TrigramIndex.Result result = index.search("Alice", 5);
+
+		assertTrue(result.isTruncated());
+		assertEquals(List.of(exact, prefix, substringMatches.get(0), substringMatches.get(1), substringMatches.get(2)),
+				result.getIds());
+	}
+
+	@Test
+	void isNotTruncatedWhenEveryMatchFits() {
+		TrigramIndex index = new TrigramIndex(3, 16);
+		UUID first = UUID.randomUUID();
+		UUID second = UUID.randomUUID();
+		index.add(first, "bob-smith", "bob@example.com", "DONOR");
+		index.add(second, "bob", "robert@example.com", "DONOR");
+		index.add(UUID.randomUUID(), "carol", "carol@example.com", "DONOR");
+
+		TrigramIndex.Result result = index.search("bob", 2);
+
+		assertFalse(result.isTruncated());
+		assertEquals(List.of(second, first), result.getIds());
+	}
+
+	@Test
+	void shortQueriesStopAtTheFirstMatchesOfTheirPrefix() {
+		TrigramIndex index = new TrigramIndex(3, 16);
+		List<UUID> prefixMatches = new ArrayList<>();
+		for (int i = 0; i < 20; i++) {
+			UUID id = UUID.randomUUID();
+			prefixMatches.add(id);
+			index.add(id, "al" + i, "user" + i + "@example.com", "DONOR");
+		}
+		index.add(UUID.randomUUID(), "bob", "al@example.com", "DONOR");
+
+		TrigramIndex.Result result = index.search("al", 3);
+
+		assertTrue(result.isTruncated());
+		assertEquals(prefixMatches.subList(0, 3), result.getIds());
+		assertFalse(index.search("al", 21).isTruncated());
+	}
+}